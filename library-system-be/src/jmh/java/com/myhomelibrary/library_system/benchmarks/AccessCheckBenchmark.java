@@ -0,0 +1,65 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.user.AuthenticatedUser;
+import com.myhomelibrary.library_system.security.SecurityUtils;
+import com.myhomelibrary.library_system.services.AccessControl;
+import com.myhomelibrary.library_system.services.ResourceFinder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessCheckBenchmark {
+    @Param({"ADMIN", "MODERATOR", "MEMBER"})
+    private String role;
+
+    private final UUID resourceId = UUID.randomUUID();
+    private ResourceFinder<ResourceAccess> ownedResource;
+    private ResourceFinder<ResourceAccess> publicLibraryResource;
+
+    @Setup
+    public void setUp() {
+        ownedResource = id -> Optional.of(new ResourceAccess(1L, 2L, LibraryPrivacyStatus.PRIVATE));
+        publicLibraryResource = id -> Optional.of(new ResourceAccess(3L, 2L, LibraryPrivacyStatus.PUBLIC));
+        var authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "firebase-uid-1"),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean isCurrentUserAdmin() {
+        return SecurityUtils.isCurrentUserAdmin();
+    }
+
+    @Benchmark
+    public boolean isCurrentUserModerator() {
+        return SecurityUtils.isCurrentUserModerator();
+    }
+
+    @Benchmark
+    public void requireOwnedBookPermissions() {
+        AccessControl.requireBookViewPermissions(ownedResource, resourceId);
+    }
+
+    @Benchmark
+    public void requirePublicLibraryAccess() {
+        AccessControl.requireLibraryAccess(publicLibraryResource, resourceId);
+    }
+}
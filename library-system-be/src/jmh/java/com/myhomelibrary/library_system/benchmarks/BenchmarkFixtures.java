@@ -0,0 +1,83 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.CommentEntity;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    static UserEntity user(long pk) {
+        return UserEntity.builder()
+                .pk(pk)
+                .id("firebase-uid-" + pk)
+                .name("Name")
+                .surname("Surname")
+                .username("user" + pk)
+                .email("user" + pk + "@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .role(UserRole.MEMBER)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    static LibraryEntity library(long pk, UserEntity owner) {
+        return LibraryEntity.builder()
+                .pk(pk)
+                .id(UUID.randomUUID())
+                .title("Library " + pk)
+                .description("A home library used for benchmarking")
+                .color("#336699")
+                .privacyStatus(LibraryPrivacyStatus.PUBLIC)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .userId(owner.getPk())
+                .owner(owner)
+                .build();
+    }
+
+    static BookEntity book(long pk, UserEntity creator) {
+        return BookEntity.builder()
+                .pk(pk)
+                .id(UUID.randomUUID())
+                .title("Book title " + pk)
+                .author("Author " + pk)
+                .isbn("978-0-00-" + pk)
+                .releaseDate(LocalDate.of(2001, 2, 3))
+                .description("Description ".repeat(40))
+                .language("en")
+                .pages(320)
+                .publisher("Publisher")
+                .genre("Fiction")
+                .coverImageUrl("https://example.com/covers/" + pk + ".jpg")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .userId(creator.getPk())
+                .libraryId(1L)
+                .user(creator)
+                .build();
+    }
+
+    static CommentEntity comment(long pk, UserEntity author) {
+        return CommentEntity.builder()
+                .pk(pk)
+                .id(UUID.randomUUID())
+                .text("A comment about the book ".repeat(8))
+                .rating(4)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .userId(author.getPk())
+                .bookId(1L)
+                .user(author)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.myhomelibrary.library_system.converters.*;
+import com.myhomelibrary.library_system.domains.book.Book;
+import com.myhomelibrary.library_system.domains.book.BookShort;
+import com.myhomelibrary.library_system.domains.comment.Comment;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.CommentEntity;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+    private BookConverter bookConverter;
+    private CommentConverter commentConverter;
+    private LibraryConverter libraryConverter;
+    private BookEntity bookEntity;
+    private CommentEntity commentEntity;
+    private LibraryEntity libraryEntity;
+
+    @Setup
+    public void setUp() {
+        UserConverter userConverter = new UserConverterImpl();
+        bookConverter = new BookConverterImpl();
+        ReflectionTestUtils.setField(bookConverter, "userConverter", userConverter);
+        commentConverter = new CommentConverterImpl();
+        libraryConverter = new LibraryConverterImpl();
+        ReflectionTestUtils.setField(libraryConverter, "userConverter", userConverter);
+
+        UserEntity user = BenchmarkFixtures.user(1L);
+        bookEntity = BenchmarkFixtures.book(1L, user);
+        commentEntity = BenchmarkFixtures.comment(1L, user);
+        libraryEntity = BenchmarkFixtures.library(1L, user);
+    }
+
+    @Benchmark
+    public Book toBook() {
+        return bookConverter.toBook(bookEntity);
+    }
+
+    @Benchmark
+    public BookShort toBookShort() {
+        return bookConverter.toBookShort(bookEntity);
+    }
+
+    @Benchmark
+    public Comment toComment() {
+        return commentConverter.toComment(commentEntity);
+    }
+
+    @Benchmark
+    public Library toLibrary() {
+        return libraryConverter.toLibrary(libraryEntity);
+    }
+}
@@ -0,0 +1,148 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.myhomelibrary.library_system.LibrarySystemApplication;
+import com.myhomelibrary.library_system.converters.BookConverter;
+import com.myhomelibrary.library_system.converters.LibraryConverter;
+import com.myhomelibrary.library_system.domains.book.BookShort;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.LibrarySpecifications;
+import com.myhomelibrary.library_system.services.LibraryService;
+import com.myhomelibrary.library_system.support.TestDatabase;
+import com.myhomelibrary.library_system.support.TestServiceAccount;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Compares hydrating managed entities and copying them with MapStruct against selecting straight into the
+// response records. Run with -prof gc to see the allocation difference next to the latency.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectionBenchmark {
+    private static final int LIBRARIES = LibraryService.MAX_PAGE_SIZE;
+
+    @Param({"100", "1000", "5000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private BookRepository bookRepository;
+    private LibraryRepository libraryRepository;
+    private BookConverter bookConverter;
+    private LibraryConverter libraryConverter;
+    private long userPk;
+    private long libraryPk;
+    private UUID libraryId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibrarySystemApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + TestDatabase.jdbcUrl(),
+                "--spring.datasource.username=" + TestDatabase.USER,
+                "--spring.datasource.password=" + TestDatabase.USER,
+                "--spring.datasource.hikari.schema=" + TestDatabase.SCHEMA,
+                "--spring.flyway.user=" + TestDatabase.USER,
+                "--spring.flyway.password=" + TestDatabase.USER,
+                "--spring.flyway.schemas=" + TestDatabase.SCHEMA,
+                "--firebase.auth-mode=LOCAL",
+                "--firebase.service-account-key-path=" + TestServiceAccount.keyPath(),
+                "--logging.level.root=WARN");
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        bookRepository = context.getBean(BookRepository.class);
+        libraryRepository = context.getBean(LibraryRepository.class);
+        bookConverter = context.getBean(BookConverter.class);
+        libraryConverter = context.getBean(LibraryConverter.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookShort> booksAsEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "SELECT b FROM BookEntity b JOIN FETCH b.user WHERE b.libraryId = :libraryPk " +
+                                "ORDER BY b.updatedAt DESC, b.createdAt DESC", BookEntity.class)
+                .setParameter("libraryPk", libraryPk)
+                .getResultList()
+                .stream()
+                .map(bookConverter::toBookShort)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookShort> booksAsProjection() {
+        return readOnly.execute(status -> {
+            try (Stream<BookShort> stream = bookRepository.streamAllBooksByLibrary_Id(libraryId)) {
+                return stream.toList();
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Library> librariesAsEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "SELECT l FROM LibraryEntity l JOIN FETCH l.owner LEFT JOIN FETCH l.stats WHERE l.userId = :userPk " +
+                                "ORDER BY l.createdAt DESC, l.id DESC", LibraryEntity.class)
+                .setParameter("userPk", userPk)
+                .setMaxResults(LIBRARIES)
+                .getResultList()
+                .stream()
+                .map(libraryConverter::toLibrary)
+                .toList());
+    }
+
+    @Benchmark
+    public List<Library> librariesAsProjection() {
+        return readOnly.execute(status -> libraryRepository.findLibraries(LibrarySpecifications.ownedBy(userPk), LIBRARIES));
+    }
+
+    private void seed() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String uid = "benchmark-" + UUID.randomUUID();
+        userPk = jdbcTemplate.queryForObject("""
+                INSERT INTO users (id, name, surname, username, email, date_of_birth, role, created_at, updated_at)
+                VALUES (?, 'Bench', 'Mark', ?, ? || '@example.com', DATE '1990-01-01', 'MEMBER', now(), now())
+                RETURNING pk""", Long.class, uid, uid, uid);
+        jdbcTemplate.update("""
+                INSERT INTO libraries (id, title, privacy_status, is_editable, created_at, updated_at, user_id)
+                SELECT gen_random_uuid(), 'Benchmark library ' || n, 'PUBLIC', true,
+                       now() - n * interval '1 minute', now() - n * interval '1 minute', ?
+                FROM generate_series(1, ?) n""", userPk, LIBRARIES);
+        jdbcTemplate.update("""
+                INSERT INTO library_stats (library_id, book_count, comment_count, rating_count, rating_sum, last_activity_at)
+                SELECT pk, 0, 0, 0, 0, updated_at FROM libraries WHERE user_id = ?""", userPk);
+        libraryPk = jdbcTemplate.queryForObject("SELECT min(pk) FROM libraries WHERE user_id = ?", Long.class, userPk);
+        libraryId = jdbcTemplate.queryForObject("SELECT id FROM libraries WHERE pk = ?", UUID.class, libraryPk);
+        jdbcTemplate.update("""
+                INSERT INTO books (id, title, author, release_date, description, language, pages, publisher, genre,
+                                   cover_image_url, created_at, updated_at, library_id, user_id)
+                SELECT gen_random_uuid(), 'Benchmark book ' || n, 'Author ' || n, DATE '2001-02-03',
+                       repeat('Description ', 40), 'en', 320, 'Publisher', 'Fiction', 'https://example.com/covers/' || n || '.jpg',
+                       now() - n * interval '1 second', now() - n * interval '1 second', ?, ?
+                FROM generate_series(1, ?) n""", libraryPk, userPk, books);
+        jdbcTemplate.execute("ANALYZE users, libraries, library_stats, books");
+    }
+}
@@ -0,0 +1,44 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myhomelibrary.library_system.converters.BookConverter;
+import com.myhomelibrary.library_system.converters.BookConverterImpl;
+import com.myhomelibrary.library_system.converters.UserConverterImpl;
+import com.myhomelibrary.library_system.domains.api.Response;
+import com.myhomelibrary.library_system.domains.book.BookShort;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int books;
+
+    private ObjectMapper objectMapper;
+    private Response<List<BookShort>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BookConverter bookConverter = new BookConverterImpl();
+        ReflectionTestUtils.setField(bookConverter, "userConverter", new UserConverterImpl());
+        UserEntity user = BenchmarkFixtures.user(1L);
+        response = Response.success(LongStream.rangeClosed(1, books)
+                .mapToObj(pk -> bookConverter.toBookShort(BenchmarkFixtures.book(pk, user)))
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
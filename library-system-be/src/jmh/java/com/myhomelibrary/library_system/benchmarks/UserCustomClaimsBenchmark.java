@@ -0,0 +1,31 @@
+package com.myhomelibrary.library_system.benchmarks;
+
+import com.myhomelibrary.library_system.domains.firebase.UserCustomClaims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserCustomClaimsBenchmark {
+    private UserCustomClaims claims;
+    private Map<String, Object> claimsMap;
+
+    @Setup
+    public void setUp() {
+        claims = new UserCustomClaims(42L, "firebase-uid-42", "reader", "Name", "Surname", "MEMBER", "1990-01-01");
+        claimsMap = claims.toMap();
+    }
+
+    @Benchmark
+    public UserCustomClaims fromMap() {
+        return UserCustomClaims.fromMap(claimsMap);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return claims.toMap();
+    }
+}
@@ -0,0 +1,48 @@
+package com.myhomelibrary.library_system.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class EntityCacheConfig {
+    public static final String USERS_REGION = "users";
+    public static final String USERS_NATURAL_ID_REGION = "users-by-id";
+    public static final String LIBRARIES_REGION = "libraries";
+    public static final String LIBRARIES_NATURAL_ID_REGION = "libraries-by-id";
+
+    @Bean
+    public CacheManager entityCacheManager(EntityCacheProperties entityCacheProperties) {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // The default manager is JVM-wide, so every application context gets its own to avoid region name clashes.
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+                URI.create("entity-cache:" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+        createRegion(cacheManager, USERS_REGION, entityCacheProperties.getUsersMaximumSize(), entityCacheProperties);
+        createRegion(cacheManager, USERS_NATURAL_ID_REGION, entityCacheProperties.getUsersMaximumSize(), entityCacheProperties);
+        createRegion(cacheManager, LIBRARIES_REGION, entityCacheProperties.getLibrariesMaximumSize(), entityCacheProperties);
+        createRegion(cacheManager, LIBRARIES_NATURAL_ID_REGION, entityCacheProperties.getLibrariesMaximumSize(), entityCacheProperties);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernatePropertiesCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, EntityCacheProperties entityCacheProperties) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(entityCacheProperties.getTimeToLive().toNanos()));
+        cacheManager.createCache(name, configuration);
+    }
+}
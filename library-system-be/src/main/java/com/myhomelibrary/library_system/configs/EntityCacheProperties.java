@@ -0,0 +1,18 @@
+package com.myhomelibrary.library_system.configs;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+    private long usersMaximumSize = 10000;
+    private long librariesMaximumSize = 10000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -22,19 +22,24 @@ public class FirebaseConfig {
     private String serviceAccountKeyPath;
 
     @Bean
-    public FirebaseApp firebaseApp() throws IOException {
+    public GoogleCredentials firebaseCredentials() throws IOException {
         Resource resource = resourceLoader.getResource(serviceAccountKeyPath);
         try (InputStream inputStream = resource.getInputStream()) {
-            FirebaseOptions options = FirebaseOptions.builder()
-                    .setCredentials(GoogleCredentials.fromStream(inputStream))
-                    .build();
+            return GoogleCredentials.fromStream(inputStream);
+        }
+    }
 
-            if (FirebaseApp.getApps().isEmpty()) {
-                FirebaseApp.initializeApp(options);
-            }
+    @Bean
+    public FirebaseApp firebaseApp(GoogleCredentials firebaseCredentials) {
+        FirebaseOptions options = FirebaseOptions.builder()
+                .setCredentials(firebaseCredentials)
+                .build();
 
-            return FirebaseApp.getInstance();
+        if (FirebaseApp.getApps().isEmpty()) {
+            FirebaseApp.initializeApp(options);
         }
+
+        return FirebaseApp.getInstance();
     }
 
     @Bean
@@ -1,10 +1,13 @@
 package com.myhomelibrary.library_system.configs;
 
+import com.myhomelibrary.library_system.domains.enums.FirebaseAuthMode;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @NoArgsConstructor
 @Component
@@ -15,4 +18,14 @@ public class FirebaseProperties {
     private String identityToolkitSignInWithCustomTokenUrl;
     private String identityToolkitRefreshTokenUrl;
     private long customTokenLifetimeSeconds = 3600;
+    private long tokenCacheMaximumSize = 10000;
+    private FirebaseAuthMode authMode = FirebaseAuthMode.REMOTE;
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private int maxConcurrentRequests = 64;
+    private Duration permitWait = Duration.ofMillis(250);
+    private int retryMaxAttempts = 3;
+    private Duration retryInitialBackoff = Duration.ofMillis(200);
+    private Duration latencyBudget = Duration.ofSeconds(15);
+    private int circuitBreakerFailureThreshold = 5;
+    private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
 }
@@ -0,0 +1,19 @@
+package com.myhomelibrary.library_system.configs;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "library-events")
+public class LibraryEventsProperties {
+    private int bufferSize = 256;
+    private int maxSubscribers = 10000;
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration subscriptionTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,23 @@
+package com.myhomelibrary.library_system.configs;
+
+import com.myhomelibrary.library_system.metrics.StatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterHibernatePropertiesCustomizer(StatementBudgetProperties statementBudgetProperties) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter(statementBudgetProperties));
+    }
+}
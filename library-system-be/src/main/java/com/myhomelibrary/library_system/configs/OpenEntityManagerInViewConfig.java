@@ -0,0 +1,30 @@
+package com.myhomelibrary.library_system.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.myhomelibrary.library_system.controllers.LibraryController.LIBRARY_BASE_URL;
+
+@Configuration
+@ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    // Event streams stay open for minutes; keeping their EntityManager open would pin a pooled connection per subscriber.
+    // The streamed book list reads on an async thread with its own connection, so an open request EntityManager
+    // would hold a second one for the whole download.
+    private static final String[] EXCLUDED_PATHS = {LIBRARY_BASE_URL + "/*/events", LIBRARY_BASE_URL + "/*/books"};
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(EXCLUDED_PATHS);
+    }
+}
@@ -0,0 +1,21 @@
+package com.myhomelibrary.library_system.configs;
+
+import com.myhomelibrary.library_system.domains.enums.StatementBudgetMode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "statement-budget")
+public class StatementBudgetProperties {
+    private StatementBudgetMode mode = StatementBudgetMode.LOG;
+    private int maxSelects = 20;
+    private int maxRepeatedSelects = 5;
+    private Set<String> excludedEndpoints = new HashSet<>();
+}
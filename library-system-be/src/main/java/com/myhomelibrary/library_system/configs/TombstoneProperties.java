@@ -0,0 +1,17 @@
+package com.myhomelibrary.library_system.configs;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "tombstones")
+public class TombstoneProperties {
+    private Duration retention = Duration.ofDays(30);
+    private Duration pruneInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,22 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.myhomelibrary.library_system.domains.api.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+final class ConditionalRequests {
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    // ETag only: the version is the library's write counter, which moves on every committed book or comment write
+    // whatever order they commit in; a timestamp validator such as Last-Modified cannot promise that.
+    static boolean isNotModified(ServletWebRequest webRequest, ResourceVersion version) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return webRequest.checkNotModified(version.etag());
+    }
+}
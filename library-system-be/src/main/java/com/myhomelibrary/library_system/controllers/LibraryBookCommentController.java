@@ -1,15 +1,16 @@
 package com.myhomelibrary.library_system.controllers;
 
+import com.myhomelibrary.library_system.domains.api.CursorPage;
 import com.myhomelibrary.library_system.domains.api.Response;
 import com.myhomelibrary.library_system.domains.comment.Comment;
 import com.myhomelibrary.library_system.domains.comment.CommentRequest;
 import com.myhomelibrary.library_system.domains.comment.CommentUpdateRequest;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
-import com.myhomelibrary.library_system.repositories.CommentRepository;
-import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.ResourceAccessRepository;
 import com.myhomelibrary.library_system.security.SecurityUtils;
 import com.myhomelibrary.library_system.services.AccessControl;
 import com.myhomelibrary.library_system.services.CommentService;
+import com.myhomelibrary.library_system.services.RequestResourceCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -30,8 +31,9 @@ import static com.myhomelibrary.library_system.controllers.LibraryController.LIB
 @Tag(name = "Book Comments", description = "Operations related to comments on books in a library")
 public class LibraryBookCommentController {
     private final CommentService commentService;
-    private final CommentRepository commentRepository;
-    private final LibraryRepository libraryRepository;
+    private final ResourceAccessRepository resourceAccessRepository;
+    private final RequestResourceCache requestResourceCache;
+    private final AccessControl accessControl;
 
     @GetMapping
     @Operation(summary = "Get comments for book", description = "Returns all comments for a specific book in a library.")
@@ -44,6 +46,21 @@ public class LibraryBookCommentController {
         return Response.success(commentService.getAllCommentsByLibraryAndBookId(libUuid, bookUuid));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get page of comments for book", description = "Returns one page of comments for a specific book in a library. Pass the returned cursor to fetch the next page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Comments page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+    })
+    public Response<CursorPage<Comment>> getCommentsPage(@PathVariable String libraryId, @PathVariable String bookId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + CommentService.DEFAULT_PAGE_SIZE) int size) {
+        UUID libUuid = parseUuid(libraryId);
+        UUID bookUuid = parseUuid(bookId);
+        accessControl.requireBookViewPermissions(id -> resourceAccessRepository.findBookAccess(id, libUuid), bookUuid);
+        return Response.success(commentService.getCommentsPageByLibraryAndBookId(libUuid, bookUuid, cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get comment by ID", description = "Returns a specific comment for a book in a library.")
     @ApiResponses({
@@ -53,7 +70,7 @@ public class LibraryBookCommentController {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(bookId);
         UUID commentUuid = parseUuid(id);
-        AccessControl.requireLibraryAccess(libraryRepository::findLibraryById, libUuid);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
         return Response.success(commentService.getCommentByIdInLibraryBook(libUuid, bookUuid, commentUuid));
     }
 
@@ -66,7 +83,7 @@ public class LibraryBookCommentController {
     public Response<Comment> createComment(@PathVariable String libraryId, @PathVariable String bookId, @Valid @RequestBody CommentRequest commentRequest) {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(bookId);
-        AccessControl.requireLibraryAccess(libraryRepository::findLibraryById, libUuid);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
         return Response.success(commentService.createCommentInLibraryBook(libUuid, bookUuid, commentRequest, SecurityUtils.getAuthenticatedUserPk()));
     }
 
@@ -80,7 +97,7 @@ public class LibraryBookCommentController {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(bookId);
         UUID commentUuid = parseUuid(id);
-        AccessControl.requireCommentPermissions(commentRepository::findCommentById, commentUuid, libraryRepository::findLibraryById, libUuid);
+        accessControl.requireCommentPermissions(commentId -> resourceAccessRepository.findCommentAccess(commentId, libUuid), commentUuid);
         UUID deleted = commentService.deleteCommentByIdInLibraryBook(libUuid, bookUuid, commentUuid);
         return Response.success(deleted.toString());
     }
@@ -95,7 +112,7 @@ public class LibraryBookCommentController {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(bookId);
         UUID commentUuid = parseUuid(id);
-        AccessControl.requireCommentPermissions(commentRepository::findCommentById, commentUuid, libraryRepository::findLibraryById, libUuid);
+        accessControl.requireCommentPermissions(commentId -> resourceAccessRepository.findCommentAccess(commentId, libUuid), commentUuid);
         return Response.success(commentService.updateCommentInLibraryBook(libUuid, bookUuid, commentUuid, commentUpdateRequest));
     }
 
@@ -1,23 +1,30 @@
 package com.myhomelibrary.library_system.controllers;
 
+import com.myhomelibrary.library_system.domains.api.CursorPage;
 import com.myhomelibrary.library_system.domains.api.Response;
 import com.myhomelibrary.library_system.domains.book.*;
+import com.myhomelibrary.library_system.domains.enums.BookImportFormat;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
-import com.myhomelibrary.library_system.repositories.BookRepository;
-import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.ResourceAccessRepository;
 import com.myhomelibrary.library_system.security.SecurityUtils;
 import com.myhomelibrary.library_system.services.AccessControl;
+import com.myhomelibrary.library_system.services.BookImportService;
 import com.myhomelibrary.library_system.services.BookService;
+import com.myhomelibrary.library_system.services.RequestResourceCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 import java.util.UUID;
 
 import static com.myhomelibrary.library_system.controllers.LibraryController.LIBRARY_BASE_URL;
@@ -28,29 +35,69 @@ import static com.myhomelibrary.library_system.controllers.LibraryController.LIB
 @Tag(name = "Library Books", description = "Operations related to books in a library")
 public class LibraryBookController {
     private final BookService bookService;
-    private final BookRepository bookRepository;
-    private final LibraryRepository libraryRepository;
+    private final BookImportService bookImportService;
+    private final ResourceAccessRepository resourceAccessRepository;
+    private final RequestResourceCache requestResourceCache;
+    private final AccessControl accessControl;
+    private final ResponseStreamer responseStreamer;
 
     @GetMapping
     @Operation(summary = "Get books in library", description = "Returns all books for the specified library.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Books not modified since the supplied ETag"),
     })
-    public Response<List<BookShort>> getBooksInLibrary(@PathVariable String libraryId) {
+    public ResponseEntity<StreamingResponseBody> getBooksInLibrary(@PathVariable String libraryId, ServletWebRequest webRequest) {
         UUID libUuid = parseUuid(libraryId);
-        AccessControl.requireLibraryAccess(libraryRepository::findLibraryById, libUuid);
-        return Response.success(bookService.getAllBooksByLibraryId(libUuid));
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
+        if (ConditionalRequests.isNotModified(webRequest, bookService.getBooksVersionByLibraryId(libUuid))) {
+            return null;
+        }
+        return responseStreamer.success(() -> bookService.streamAllBooksByLibraryId(libUuid));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get page of books in library", description = "Returns one page of books for the specified library. Pass the returned cursor to fetch the next page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+    })
+    public Response<CursorPage<BookShort>> getBooksPageInLibrary(@PathVariable String libraryId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "" + BookService.DEFAULT_PAGE_SIZE) int size) {
+        UUID libUuid = parseUuid(libraryId);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
+        return Response.success(bookService.getBooksPageByLibraryId(libUuid, cursor, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search books in library", description = "Full-text search over title, author, ISBN, genre, publisher and description of books in the specified library. Results are ordered by relevance; pass the returned cursor to fetch the next page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid cursor"),
+    })
+    public Response<CursorPage<BookShort>> searchBooksInLibrary(@PathVariable String libraryId,
+                                                                @RequestParam String q,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "" + BookService.DEFAULT_PAGE_SIZE) int size) {
+        UUID libUuid = parseUuid(libraryId);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
+        return Response.success(bookService.searchBooksInLibrary(libUuid, q, cursor, size));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get book by ID", description = "Returns details of a specific book in the library, including comments.")
+    @Operation(summary = "Get book by ID", description = "Returns details of a specific book in the library, including the comment count and the first page of comments.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Book retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Book and its comments not modified since the supplied ETag"),
     })
-    public Response<BookWithComments> getBookById(@PathVariable String libraryId, @PathVariable String id) {
+    public Response<BookWithComments> getBookById(@PathVariable String libraryId, @PathVariable String id, ServletWebRequest webRequest) {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(id);
-        AccessControl.requireBookViewPermissions(bookRepository::findBookById, bookUuid, libraryRepository::findLibraryById, libUuid);
+        accessControl.requireBookViewPermissions(bookId -> resourceAccessRepository.findBookAccess(bookId, libUuid), bookUuid);
+        if (ConditionalRequests.isNotModified(webRequest, bookService.getBookVersionInLibrary(libUuid, bookUuid))) {
+            return null;
+        }
         return Response.success(bookService.getBookByIdInLibrary(libUuid, bookUuid));
     }
 
@@ -62,10 +109,26 @@ public class LibraryBookController {
     })
     public Response<Book> createBook(@PathVariable String libraryId, @Valid @RequestBody BookRequest bookRequest) {
         UUID libUuid = parseUuid(libraryId);
-        AccessControl.requireLibraryAccess(libraryRepository::findLibraryById, libUuid);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
         return Response.success(bookService.createBookInLibrary(libUuid, bookRequest, SecurityUtils.getAuthenticatedUserPk()));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Import books", description = "Imports books into the specified library from a CSV body with a header row or an NDJSON body. Rows are validated and inserted in batches; rejected rows are reported in the result.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, see result for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Import body could not be read"),
+    })
+    public Response<BookImportResult> importBooks(@PathVariable String libraryId,
+                                                  @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                  InputStream body) {
+        UUID libUuid = parseUuid(libraryId);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, libUuid);
+        BookImportFormat format = BookImportFormat.fromContentType(contentType);
+        return Response.success(bookImportService.importBooks(libUuid, format, body, SecurityUtils.getAuthenticatedUserPk()));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Delete book", description = "Deletes a book from the specified library.")
@@ -75,7 +138,7 @@ public class LibraryBookController {
     public Response<String> deleteBook(@PathVariable String libraryId, @PathVariable String id) {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(id);
-        AccessControl.requireBookPermissions(bookRepository::findBookById, bookUuid, libraryRepository::findLibraryById, libUuid);
+        accessControl.requireBookPermissions(bookId -> resourceAccessRepository.findBookAccess(bookId, libUuid), bookUuid);
         UUID deleted = bookService.deleteBookByIdInLibrary(libUuid, bookUuid);
         return Response.success(deleted.toString());
     }
@@ -89,7 +152,7 @@ public class LibraryBookController {
     public Response<BookWithComments> updateBook(@PathVariable String libraryId, @PathVariable String id, @Valid @RequestBody BookUpdateRequest bookUpdateRequest) {
         UUID libUuid = parseUuid(libraryId);
         UUID bookUuid = parseUuid(id);
-        AccessControl.requireBookPermissions(bookRepository::findBookById, bookUuid, libraryRepository::findLibraryById, libUuid);
+        accessControl.requireBookPermissions(bookId -> resourceAccessRepository.findBookAccess(bookId, libUuid), bookUuid);
         return Response.success(bookService.updateBookInLibrary(libUuid, bookUuid, bookUpdateRequest));
     }
 
@@ -1,22 +1,35 @@
 package com.myhomelibrary.library_system.controllers;
 
+import com.myhomelibrary.library_system.domains.api.CursorPage;
 import com.myhomelibrary.library_system.domains.api.Response;
+import com.myhomelibrary.library_system.domains.book.DiscoveredBook;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
 import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.domains.library.LibraryChanges;
+import com.myhomelibrary.library_system.domains.library.LibraryFilter;
 import com.myhomelibrary.library_system.domains.library.LibraryRequest;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
-import com.myhomelibrary.library_system.repositories.LibraryRepository;
 import com.myhomelibrary.library_system.security.SecurityUtils;
 import com.myhomelibrary.library_system.services.AccessControl;
+import com.myhomelibrary.library_system.services.BookDiscoveryIndex;
+import com.myhomelibrary.library_system.services.LibraryEventBus;
 import com.myhomelibrary.library_system.services.LibraryService;
+import com.myhomelibrary.library_system.services.LibrarySyncService;
+import com.myhomelibrary.library_system.services.RequestResourceCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,26 +43,54 @@ public class LibraryController {
     public static final String LIBRARY_BASE_URL = "/v1/library";
 
     private final LibraryService libraryService;
-    private final LibraryRepository libraryRepository;
+    private final RequestResourceCache requestResourceCache;
+    private final AccessControl accessControl;
+    private final BookDiscoveryIndex bookDiscoveryIndex;
+    private final LibrarySyncService librarySyncService;
+    private final LibraryEventBus libraryEventBus;
 
     @GetMapping
-    @Operation(summary = "Get user's libraries", description = "Returns all libraries owned by the authenticated user.")
+    @Operation(summary = "Get user's libraries", description = "Returns one page of libraries owned by the authenticated user, newest first, optionally filtered by privacy status and title prefix. Pass the returned cursor to fetch the next page.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Libraries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
     })
-    public Response<List<Library>> getLibraries() {
+    public Response<CursorPage<Library>> getLibraries(@RequestParam(required = false) LibraryPrivacyStatus privacyStatus,
+                                                      @RequestParam(required = false) String titlePrefix,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + LibraryService.DEFAULT_PAGE_SIZE) int size) {
         Long userPk = SecurityUtils.getAuthenticatedUserPk();
-        return Response.success(libraryService.getLibrariesByUserId(userPk));
+        LibraryFilter filter = new LibraryFilter(privacyStatus, null, titlePrefix);
+        return Response.success(libraryService.getLibrariesByUserId(userPk, filter, cursor, size));
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Get all libraries", description = "Returns libraries based on user role: Admin/Moderator get all libraries, Members get public libraries (excluding own).")
+    @Operation(summary = "Get all libraries", description = "Returns one page of libraries based on user role, newest first: Admin/Moderator get all libraries, Members get public libraries (excluding own). Optionally filtered by privacy status, owner ID and title prefix. Pass the returned cursor to fetch the next page.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Libraries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
     })
-    public Response<List<Library>> getAllLibraries() {
+    public Response<CursorPage<Library>> getAllLibraries(@RequestParam(required = false) LibraryPrivacyStatus privacyStatus,
+                                                         @RequestParam(required = false) String ownerId,
+                                                         @RequestParam(required = false) String titlePrefix,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + LibraryService.DEFAULT_PAGE_SIZE) int size) {
         Long userPk = SecurityUtils.getAuthenticatedUserPk();
-        return Response.success(libraryService.getAllLibrariesBasedOnRole(userPk));
+        LibraryFilter filter = new LibraryFilter(privacyStatus, ownerId, titlePrefix);
+        return Response.success(libraryService.getAllLibrariesBasedOnRole(userPk, filter, cursor, size));
+    }
+
+    @GetMapping("/all/books")
+    @Operation(summary = "Discover books", description = "Type-ahead search over titles, authors and genres of books in libraries visible on the discovery page: Admin/Moderator search all libraries, Members search public libraries (excluding own). The last word of the query is matched as a prefix. Title matches rank above author and genre matches, whole words above prefixes, then newer books first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @ApiResponse(responseCode = "503", description = "Discovery index is still loading"),
+    })
+    public Response<List<DiscoveredBook>> discoverBooks(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "" + BookDiscoveryIndex.DEFAULT_LIMIT) int limit) {
+        Long userPk = SecurityUtils.getAuthenticatedUserPk();
+        boolean includePrivate = SecurityUtils.isCurrentUserAdmin() || SecurityUtils.isCurrentUserModerator();
+        return Response.success(bookDiscoveryIndex.search(q, userPk, includePrivate, limit));
     }
 
     @GetMapping("/{id}")
@@ -59,10 +100,41 @@ public class LibraryController {
     })
     public Response<Library> getLibraryById(@PathVariable String id) {
         UUID uuid = parseUuid(id);
-        AccessControl.requireLibraryAccess(libraryRepository::findLibraryById, uuid);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, uuid);
         return Response.success(libraryService.getLibraryById(uuid));
     }
 
+    @GetMapping("/{id}/sync")
+    @Operation(summary = "Get library changes", description = "Returns books and comments created, updated or deleted in the library since the given watermark, "
+            + "plus the library itself if it changed. Omit since for the first call and pass the returned watermark on the next one. "
+            + "Changes may be repeated across calls and must be applied idempotently. Comments of deleted books are not listed separately. "
+            + "If resetRequired is true, either because there are too many changes or because since is older than the deletion history kept, "
+            + "reload the library through the list endpoints and continue from the returned watermark.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Library changes retrieved successfully"),
+    })
+    public Response<LibraryChanges> getLibraryChanges(@PathVariable String id,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        UUID uuid = parseUuid(id);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, uuid);
+        return Response.success(librarySyncService.getLibraryChangesSince(uuid, since));
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to library changes", description = "Opens a server-sent events stream that pushes an event named book or comment, carrying the change type and IDs, "
+            + "whenever a book or comment in the library is created, updated or deleted. A heartbeat comment is sent periodically. "
+            + "The stream is closed when the subscriber falls too far behind, when access to the library is lost, or after the subscription timeout; "
+            + "reconnect and catch up through the sync endpoint.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Too many open event streams"),
+    })
+    public SseEmitter subscribeToLibraryChanges(@PathVariable String id) {
+        UUID uuid = parseUuid(id);
+        accessControl.requireLibraryAccess(requestResourceCache::findLibraryAccess, uuid);
+        return libraryEventBus.subscribe(uuid, SecurityUtils.getAuthentication());
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create library", description = "Creates a new library for the authenticated user.")
@@ -81,7 +153,7 @@ public class LibraryController {
     })
     public Response<String> deleteLibrary(@PathVariable String id) {
         UUID uuid = parseUuid(id);
-        AccessControl.requireOwnerOrAdmin(libraryRepository::findLibraryById, uuid);
+        accessControl.requireOwnerOrAdmin(requestResourceCache::findLibraryAccess, uuid);
         var deleted = libraryService.deleteLibraryById(uuid);
         return Response.success(deleted.toString());
     }
@@ -94,7 +166,7 @@ public class LibraryController {
     })
     public Response<Library> updateLibrary(@PathVariable String id, @Valid @RequestBody LibraryRequest libraryRequest) {
         UUID uuid = parseUuid(id);
-        AccessControl.requireOwnerOrAdmin(libraryRepository::findLibraryById, uuid);
+        accessControl.requireOwnerOrAdmin(requestResourceCache::findLibraryAccess, uuid);
         return Response.success(libraryService.updateLibrary(uuid, libraryRequest));
     }
 
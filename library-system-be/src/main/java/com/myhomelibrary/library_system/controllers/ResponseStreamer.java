@@ -0,0 +1,74 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.myhomelibrary.library_system.domains.api.Response;
+import com.myhomelibrary.library_system.metrics.RequestStatements;
+import com.myhomelibrary.library_system.metrics.StatementCounter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+public class ResponseStreamer {
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResponseStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                // A failure mid-stream must leave the body truncated rather than closed into valid but partial JSON.
+                .without(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> success(Supplier<Stream<T>> rows) {
+        RequestStatements statements = StatementCounter.current();
+        StreamingResponseBody body = outputStream -> {
+            StatementCounter.resume(statements);
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeSuccess(outputStream, rows));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                StatementCounter.stop();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private <T> void writeSuccess(OutputStream outputStream, Supplier<Stream<T>> rows) {
+        try (Stream<T> stream = rows.get(); JsonGenerator generator = objectWriter.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", Response.SUCCESS_STATUS);
+            generator.writeArrayFieldStart("data");
+            Iterator<T> iterator = stream.iterator();
+            for (int written = 1; iterator.hasNext(); written++) {
+                objectWriter.writeValue(generator, iterator.next());
+                if (written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.myhomelibrary.library_system.domains.api.Response;
+import com.myhomelibrary.library_system.domains.user.User;
+import com.myhomelibrary.library_system.domains.user.UserRoleRequest;
+import com.myhomelibrary.library_system.services.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "User administration operations")
+public class UserController {
+
+    private final UserService userService;
+
+    @PutMapping("/{userId}/role")
+    @Operation(summary = "Change user role", description = "Changes a user's role (Admin only). Tokens issued to the user before the change stop being accepted once it commits.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "User role changed successfully"),
+            @ApiResponse(responseCode = "403", description = "Caller is not an admin"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+    })
+    public Response<User> updateUserRole(@PathVariable String userId, @Valid @RequestBody UserRoleRequest request) {
+        return Response.success(userService.updateUserRole(userId, request.role()));
+    }
+}
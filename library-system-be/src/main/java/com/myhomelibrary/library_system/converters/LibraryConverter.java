@@ -2,7 +2,9 @@ package com.myhomelibrary.library_system.converters;
 
 import com.myhomelibrary.library_system.domains.library.Library;
 import com.myhomelibrary.library_system.domains.library.LibraryRequest;
+import com.myhomelibrary.library_system.domains.library.LibraryStats;
 import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.entities.LibraryStatsEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -11,11 +13,20 @@ import org.mapstruct.MappingTarget;
 public interface LibraryConverter {
     @Mapping(target = "id", expression = "java(java.util.UUID.randomUUID())")
     @Mapping(target = "userId", source = "userId")
+    @Mapping(target = "stats", ignore = true)
     LibraryEntity toLibraryEntity(LibraryRequest libraryRequest, Long userId);
 
     @Mapping(target = "creator", source = "owner")
     Library toLibrary(LibraryEntity libraryEntity);
 
+    default LibraryStats toLibraryStats(LibraryStatsEntity libraryStatsEntity) {
+        if (libraryStatsEntity == null) {
+            return null;
+        }
+        return LibraryStats.of(libraryStatsEntity.getBookCount(), libraryStatsEntity.getCommentCount(),
+                libraryStatsEntity.getRatingCount(), libraryStatsEntity.getRatingSum(), libraryStatsEntity.getLastActivityAt());
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "pk", ignore = true)
     @Mapping(target = "userId", ignore = true)
@@ -23,5 +34,6 @@ public interface LibraryConverter {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "books", ignore = true)
     @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "stats", ignore = true)
     void updateLibraryEntity(LibraryRequest libraryRequest, @MappingTarget LibraryEntity libraryEntity);
 }
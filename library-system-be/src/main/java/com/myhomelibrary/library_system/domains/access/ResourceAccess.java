@@ -0,0 +1,15 @@
+package com.myhomelibrary.library_system.domains.access;
+
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.entities.OwnableResource;
+
+public record ResourceAccess(
+        Long ownerId,
+        Long libraryOwnerId,
+        LibraryPrivacyStatus libraryPrivacyStatus
+) implements OwnableResource {
+    @Override
+    public Long getOwnerId() {
+        return ownerId;
+    }
+}
@@ -0,0 +1,6 @@
+package com.myhomelibrary.library_system.domains.api;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,32 @@
+package com.myhomelibrary.library_system.domains.api;
+
+import com.myhomelibrary.library_system.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+public record KeysetCursor(Instant updatedAt, Instant createdAt, Long pk) {
+    public String encode() {
+        String raw = updatedAt.getEpochSecond() + ":" + updatedAt.getNano() + ":"
+                + createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + pk;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 5) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new KeysetCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Instant.ofEpochSecond(Long.parseLong(parts[2]), Long.parseLong(parts[3])),
+                    Long.parseLong(parts[4])
+            );
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
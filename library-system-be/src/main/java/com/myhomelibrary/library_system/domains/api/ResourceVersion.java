@@ -0,0 +1,7 @@
+package com.myhomelibrary.library_system.domains.api;
+
+public record ResourceVersion(long version) {
+    public String etag() {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+}
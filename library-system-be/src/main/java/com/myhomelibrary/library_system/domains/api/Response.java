@@ -1,8 +1,10 @@
 package com.myhomelibrary.library_system.domains.api;
 
 public record Response<T>(String status, T data) {
+    public static final String SUCCESS_STATUS = "OK";
+
     public static <T> Response<T> success(T data) {
-        return new Response<>("OK", data);
+        return new Response<>(SUCCESS_STATUS, data);
     }
 
     public static <T> Response<T> error(T data) {
@@ -0,0 +1,7 @@
+package com.myhomelibrary.library_system.domains.book;
+
+public record BookImportError(
+        long row,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package com.myhomelibrary.library_system.domains.book;
+
+import java.util.List;
+
+public record BookImportResult(
+        long imported,
+        long failed,
+        List<BookImportError> errors,
+        boolean errorsTruncated
+) {
+}
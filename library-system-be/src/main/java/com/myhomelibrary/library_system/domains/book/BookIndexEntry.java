@@ -0,0 +1,13 @@
+package com.myhomelibrary.library_system.domains.book;
+
+import java.util.UUID;
+
+public record BookIndexEntry(
+        Long pk,
+        UUID id,
+        String title,
+        String author,
+        String genre,
+        Long libraryPk
+) {
+}
@@ -0,0 +1,7 @@
+package com.myhomelibrary.library_system.domains.book;
+
+public interface BookSearchHit {
+    Long getPk();
+
+    Float getRank();
+}
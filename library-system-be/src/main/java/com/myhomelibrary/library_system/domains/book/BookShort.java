@@ -23,5 +23,8 @@ public record BookShort(
         Instant updatedAt,
         UserShort creator
 ) {
-
+    public BookShort(UUID id, String title, String author, LocalDate releaseDate, String language, String coverImageUrl,
+                     Instant createdAt, Instant updatedAt, String creatorId, String creatorUsername) {
+        this(id, title, author, releaseDate, language, coverImageUrl, createdAt, updatedAt, new UserShort(creatorId, creatorUsername));
+    }
 }
\ No newline at end of file
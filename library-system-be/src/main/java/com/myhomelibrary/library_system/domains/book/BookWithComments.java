@@ -14,12 +14,16 @@ import java.util.List;
 @AllArgsConstructor
 public class BookWithComments extends Book {
     private List<Comment> comments;
+    private long commentCount;
+    private String nextCommentsCursor;
 
-    public BookWithComments(Book book, List<Comment> comments) {
+    public BookWithComments(Book book, List<Comment> comments, long commentCount, String nextCommentsCursor) {
         super(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
                 book.getReleaseDate(), book.getDescription(), book.getLanguage(),
                 book.getPages(), book.getPublisher(), book.getGenre(),
                 book.getCoverImageUrl(), book.getCreatedAt(), book.getUpdatedAt(), book.getCreator());
         this.comments = comments;
+        this.commentCount = commentCount;
+        this.nextCommentsCursor = nextCommentsCursor;
     }
 }
\ No newline at end of file
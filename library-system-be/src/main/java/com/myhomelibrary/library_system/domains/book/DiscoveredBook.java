@@ -0,0 +1,12 @@
+package com.myhomelibrary.library_system.domains.book;
+
+import java.util.UUID;
+
+public record DiscoveredBook(
+        UUID id,
+        String title,
+        String author,
+        String genre,
+        UUID libraryId
+) {
+}
@@ -0,0 +1,24 @@
+package com.myhomelibrary.library_system.domains.comment;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.myhomelibrary.library_system.domains.user.UserShort;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record CommentChange(
+        UUID id,
+        UUID bookId,
+        String text,
+        Integer rating,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
+        Instant createdAt,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
+        Instant updatedAt,
+        UserShort user
+) {
+    public CommentChange(UUID id, UUID bookId, String text, Integer rating, Instant createdAt, Instant updatedAt,
+                         String userId, String username) {
+        this(id, bookId, text, rating, createdAt, updatedAt, new UserShort(userId, username));
+    }
+}
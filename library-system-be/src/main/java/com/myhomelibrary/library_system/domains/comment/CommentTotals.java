@@ -0,0 +1,8 @@
+package com.myhomelibrary.library_system.domains.comment;
+
+public record CommentTotals(
+        long commentCount,
+        long ratingCount,
+        long ratingSum
+) {
+}
@@ -0,0 +1,34 @@
+package com.myhomelibrary.library_system.domains.enums;
+
+import com.myhomelibrary.library_system.exceptions.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BookImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static BookImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType parsed = MediaType.parseMediaType(contentType);
+                for (BookImportFormat format : values()) {
+                    if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(parsed)) {
+                        return format;
+                    }
+                }
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,7 @@
+package com.myhomelibrary.library_system.domains.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,6 @@
+package com.myhomelibrary.library_system.domains.enums;
+
+public enum FirebaseAuthMode {
+    REMOTE,
+    LOCAL
+}
@@ -3,7 +3,6 @@ package com.myhomelibrary.library_system.domains.firebase;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,7 +20,7 @@ public record UserCustomClaims(
     public static UserCustomClaims fromMap(Map<String, Object> claims) {
         if (claims == null) return new UserCustomClaims(null, null, null, null, null, null, null);
         return new UserCustomClaims(
-                claims.get("userPk") != null ? ((BigDecimal) claims.get("userPk")).longValue() : null,
+                claims.get("userPk") instanceof Number userPk ? userPk.longValue() : null,
                 getString(claims, "userId"),
                 getString(claims, "username"),
                 getString(claims, "name"),
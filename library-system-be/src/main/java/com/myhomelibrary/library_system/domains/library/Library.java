@@ -20,6 +20,13 @@ public record Library(
         Instant createdAt,
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
         Instant updatedAt,
-        UserShort creator
+        UserShort creator,
+        LibraryStats stats
 ) {
+    public Library(UUID id, String title, String description, String color, LibraryPrivacyStatus privacyStatus, boolean isEditable,
+                   Instant createdAt, Instant updatedAt, String creatorId, String creatorUsername,
+                   Long bookCount, Long commentCount, Long ratingCount, Long ratingSum, Instant lastActivityAt) {
+        this(id, title, description, color, privacyStatus, isEditable, createdAt, updatedAt, new UserShort(creatorId, creatorUsername),
+                bookCount == null ? null : LibraryStats.of(bookCount, commentCount, ratingCount, ratingSum, lastActivityAt));
+    }
 }
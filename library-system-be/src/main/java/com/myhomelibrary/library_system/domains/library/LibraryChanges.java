@@ -0,0 +1,24 @@
+package com.myhomelibrary.library_system.domains.library;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.myhomelibrary.library_system.domains.book.BookShort;
+import com.myhomelibrary.library_system.domains.comment.CommentChange;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record LibraryChanges(
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSX", timezone = "UTC")
+        Instant watermark,
+        boolean resetRequired,
+        Library library,
+        List<BookShort> books,
+        List<CommentChange> comments,
+        List<UUID> deletedBookIds,
+        List<UUID> deletedCommentIds
+) {
+    public static LibraryChanges reset(Instant watermark) {
+        return new LibraryChanges(watermark, true, null, List.of(), List.of(), List.of(), List.of());
+    }
+}
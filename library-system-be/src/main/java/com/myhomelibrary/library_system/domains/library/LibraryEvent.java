@@ -0,0 +1,15 @@
+package com.myhomelibrary.library_system.domains.library;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LibraryEvent(
+        ChangeType changeType,
+        UUID libraryId,
+        UUID bookId,
+        UUID commentId
+) {
+}
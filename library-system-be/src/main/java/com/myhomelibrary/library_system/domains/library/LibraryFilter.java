@@ -0,0 +1,10 @@
+package com.myhomelibrary.library_system.domains.library;
+
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+
+public record LibraryFilter(
+        LibraryPrivacyStatus privacyStatus,
+        String ownerId,
+        String titlePrefix
+) {
+}
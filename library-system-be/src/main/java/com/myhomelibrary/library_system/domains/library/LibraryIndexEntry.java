@@ -0,0 +1,13 @@
+package com.myhomelibrary.library_system.domains.library;
+
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+
+import java.util.UUID;
+
+public record LibraryIndexEntry(
+        Long pk,
+        UUID id,
+        Long ownerPk,
+        LibraryPrivacyStatus privacyStatus
+) {
+}
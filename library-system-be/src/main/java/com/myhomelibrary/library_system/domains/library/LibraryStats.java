@@ -0,0 +1,17 @@
+package com.myhomelibrary.library_system.domains.library;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+
+public record LibraryStats(
+        long bookCount,
+        long commentCount,
+        Double averageRating,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
+        Instant lastActivityAt
+) {
+    public static LibraryStats of(long bookCount, long commentCount, long ratingCount, long ratingSum, Instant lastActivityAt) {
+        return new LibraryStats(bookCount, commentCount, ratingCount == 0 ? null : (double) ratingSum / ratingCount, lastActivityAt);
+    }
+}
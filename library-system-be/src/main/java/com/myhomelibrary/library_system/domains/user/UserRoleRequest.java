@@ -0,0 +1,10 @@
+package com.myhomelibrary.library_system.domains.user;
+
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import jakarta.validation.constraints.NotNull;
+
+public record UserRoleRequest(
+        @NotNull(message = "Role is required")
+        UserRole role
+) {
+}
@@ -20,7 +20,8 @@ import java.util.UUID;
 public class BookEntity implements OwnableResource {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_pk_seq")
+    @SequenceGenerator(name = "books_pk_seq", sequenceName = "books_pk_seq", allocationSize = 50)
     @Column(name = "pk")
     private Long pk;
 
@@ -18,7 +18,8 @@ import java.util.UUID;
 public class CommentEntity implements OwnableResource {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_pk_seq")
+    @SequenceGenerator(name = "comments_pk_seq", sequenceName = "comments_pk_seq", allocationSize = 50)
     @Column(name = "pk")
     private Long pk;
 
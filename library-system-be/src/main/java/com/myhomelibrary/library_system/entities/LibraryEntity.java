@@ -1,9 +1,14 @@
 package com.myhomelibrary.library_system.entities;
 
+import com.myhomelibrary.library_system.configs.EntityCacheConfig;
 import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -11,19 +16,23 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.LIBRARIES_REGION)
+@NaturalIdCache(region = EntityCacheConfig.LIBRARIES_NATURAL_ID_REGION)
 @Table(name = "libraries")
 @Data
-@ToString(exclude = "books")
+@ToString(exclude = {"books", "stats"})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class LibraryEntity implements OwnableResource {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "libraries_pk_seq")
+    @SequenceGenerator(name = "libraries_pk_seq", sequenceName = "libraries_pk_seq", allocationSize = 50)
     @Column(name = "pk")
     private Long pk;
 
+    @NaturalId
     @Column(name = "id", nullable = false, unique = true)
     private UUID id;
 
@@ -61,6 +70,11 @@ public class LibraryEntity implements OwnableResource {
     @OneToMany(mappedBy = "library", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BookEntity> books;
 
+    // Every library gets a stats row on creation; without optional = false Hibernate cannot proxy this and selects it eagerly.
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @PrimaryKeyJoinColumn
+    private LibraryStatsEntity stats;
+
     @Override
     public Long getOwnerId() {
         return this.userId;
@@ -0,0 +1,38 @@
+package com.myhomelibrary.library_system.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "library_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryStatsEntity {
+
+    @Id
+    @Column(name = "library_id")
+    private Long libraryId;
+
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "last_activity_at")
+    private Instant lastActivityAt;
+
+    // Bumped by every book or comment write in that write's transaction; the book ETags are built from it.
+    @Column(name = "version", nullable = false)
+    private long version;
+}
@@ -0,0 +1,38 @@
+package com.myhomelibrary.library_system.entities;
+
+import com.myhomelibrary.library_system.domains.enums.TombstoneType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TombstoneEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstones_pk_seq")
+    @SequenceGenerator(name = "tombstones_pk_seq", sequenceName = "tombstones_pk_seq", allocationSize = 50)
+    @Column(name = "pk")
+    private Long pk;
+
+    @Column(name = "library_id", nullable = false)
+    private Long libraryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false)
+    private TombstoneType resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private UUID resourceId;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private Instant deletedAt;
+}
@@ -1,9 +1,14 @@
 package com.myhomelibrary.library_system.entities;
 
+import com.myhomelibrary.library_system.configs.EntityCacheConfig;
 import com.myhomelibrary.library_system.domains.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -11,6 +16,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.USERS_REGION)
+@NaturalIdCache(region = EntityCacheConfig.USERS_NATURAL_ID_REGION)
 @Table(name = "users")
 @Data
 @ToString(exclude = {"libraries", "comments"})
@@ -20,10 +27,12 @@ import java.util.List;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_pk_seq")
+    @SequenceGenerator(name = "users_pk_seq", sequenceName = "users_pk_seq", allocationSize = 50)
     @Column(name = "pk")
     private Long pk;
 
+    @NaturalId
     @Column(name = "id", nullable = false, unique = true)
     private String id;
 
@@ -0,0 +1,22 @@
+package com.myhomelibrary.library_system.events;
+
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.entities.BookEntity;
+
+import java.util.UUID;
+
+public record BookChangedEvent(
+        ChangeType changeType,
+        UUID libraryId,
+        Long libraryPk,
+        UUID bookId,
+        Long bookPk,
+        String title,
+        String author,
+        String genre
+) {
+    public static BookChangedEvent of(ChangeType changeType, UUID libraryId, BookEntity book) {
+        return new BookChangedEvent(changeType, libraryId, book.getLibraryId(), book.getId(), book.getPk(),
+                book.getTitle(), book.getAuthor(), book.getGenre());
+    }
+}
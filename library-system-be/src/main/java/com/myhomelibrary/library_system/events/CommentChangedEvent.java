@@ -0,0 +1,16 @@
+package com.myhomelibrary.library_system.events;
+
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+
+import java.util.UUID;
+
+public record CommentChangedEvent(
+        ChangeType changeType,
+        UUID libraryId,
+        UUID bookId,
+        UUID commentId
+) {
+    public static CommentChangedEvent of(ChangeType changeType, UUID libraryId, UUID bookId, UUID commentId) {
+        return new CommentChangedEvent(changeType, libraryId, bookId, commentId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.myhomelibrary.library_system.events;
+
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+
+import java.util.UUID;
+
+public record LibraryChangedEvent(
+        ChangeType changeType,
+        UUID libraryId,
+        Long libraryPk,
+        Long ownerPk,
+        LibraryPrivacyStatus privacyStatus
+) {
+    public static LibraryChangedEvent of(ChangeType changeType, LibraryEntity library) {
+        return new LibraryChangedEvent(changeType, library.getId(), library.getPk(), library.getUserId(), library.getPrivacyStatus());
+    }
+}
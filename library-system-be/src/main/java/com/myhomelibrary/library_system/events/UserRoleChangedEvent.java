@@ -0,0 +1,14 @@
+package com.myhomelibrary.library_system.events;
+
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.entities.UserEntity;
+
+public record UserRoleChangedEvent(
+        Long userPk,
+        String userId,
+        UserRole role
+) {
+    public static UserRoleChangedEvent of(UserEntity user) {
+        return new UserRoleChangedEvent(user.getPk(), user.getId(), user.getRole());
+    }
+}
@@ -0,0 +1,12 @@
+package com.myhomelibrary.library_system.exceptions;
+
+import java.io.Serial;
+
+public class BadRequestException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = -3120581902146657294L;
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -50,6 +50,22 @@ public class ExceptionHandlers {
         return Response.error(serverError);
     }
 
+    @ExceptionHandler(StatementBudgetExceededException.class)
+    @ResponseBody
+    public Response<ServerError> handleStatementBudgetExceededException(HttpServletResponse response, StatementBudgetExceededException ex) {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        var serverError = new ServerError("Statement budget exceeded", ex.getMessage());
+        return Response.error(serverError);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseBody
+    public Response<ServerError> handleBadRequestException(HttpServletResponse response, BadRequestException ex) {
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        var serverError = new ServerError("Bad Request", ex.getMessage());
+        return Response.error(serverError);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     @ResponseBody
     public void handleNotAuthorized(HttpServletResponse response) {
@@ -155,6 +171,14 @@ public class ExceptionHandlers {
         return Response.error(serverError);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseBody
+    public Response<ServerError> handleServiceUnavailableException(HttpServletResponse response, ServiceUnavailableException ex) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        var serverError = new ServerError("Service Unavailable", ex.getMessage());
+        return Response.error(serverError);
+    }
+
     @ExceptionHandler(TokenValidationException.class)
     @ResponseBody
     public Response<ServerError> handleTokenValidationException(HttpServletResponse response, TokenValidationException ex) {
@@ -0,0 +1,12 @@
+package com.myhomelibrary.library_system.exceptions;
+
+import java.io.Serial;
+
+public class ServiceUnavailableException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4871309244163874150L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.myhomelibrary.library_system.exceptions;
+
+import java.io.Serial;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 6203947125388145021L;
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
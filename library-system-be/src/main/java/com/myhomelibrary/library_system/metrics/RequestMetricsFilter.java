@@ -0,0 +1,71 @@
+package com.myhomelibrary.library_system.metrics;
+
+import com.myhomelibrary.library_system.configs.StatementBudgetProperties;
+import com.myhomelibrary.library_system.domains.enums.StatementBudgetMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@AllArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final String STATEMENTS_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".statements";
+
+    private final MeterRegistry meterRegistry;
+    private final StatementBudgetProperties statementBudgetProperties;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestStatements statements = isAsyncDispatch(request) ? (RequestStatements) request.getAttribute(STATEMENTS_ATTRIBUTE) : null;
+        if (statements == null) {
+            statements = StatementCounter.start(request);
+        } else {
+            StatementCounter.resume(statements);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.stop();
+            if (isAsyncStarted(request)) {
+                // Streamed bodies and event streams keep querying after this thread returns; record once the async dispatch completes.
+                request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+            } else {
+                record(request, statements);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatements statements) {
+        DistributionSummary.builder("db.queries.per.request")
+                .description("JDBC statements prepared while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", statements.uri())
+                .register(meterRegistry)
+                .record(statements.total());
+
+        if (statements.violation() != null) {
+            meterRegistry.counter("db.statement.budget.violations", "method", request.getMethod(), "uri", statements.uri(), "kind", statements.violationKind()).increment();
+            if (statementBudgetProperties.getMode() == StatementBudgetMode.LOG) {
+                log.warn("Statement budget exceeded ({} statements, {} selects): {}", statements.total(), statements.selects(), statements.violation());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.myhomelibrary.library_system.metrics;
+
+import com.myhomelibrary.library_system.configs.StatementBudgetProperties;
+import com.myhomelibrary.library_system.domains.enums.StatementBudgetMode;
+import com.myhomelibrary.library_system.exceptions.StatementBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class RequestStatements {
+    private final HttpServletRequest request;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+    private int total;
+    private int selects;
+    private String violationKind;
+    private String violation;
+
+    RequestStatements(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    synchronized void record(String sql, StatementBudgetProperties budget) {
+        total++;
+        if (budget.getMode() == StatementBudgetMode.OFF || !isSelect(sql)) {
+            return;
+        }
+
+        selects++;
+        int repeats = selectCounts.merge(sql, 1, Integer::sum);
+        if (violation != null || budget.getExcludedEndpoints().contains(endpoint())) {
+            return;
+        }
+
+        if (repeats > budget.getMaxRepeatedSelects()) {
+            violationKind = "repeated";
+            violation = endpoint() + " ran the same select " + repeats + " times (limit " + budget.getMaxRepeatedSelects() + "), likely N+1: " + sql;
+        } else if (selects > budget.getMaxSelects()) {
+            violationKind = "total";
+            violation = endpoint() + " ran more than " + budget.getMaxSelects() + " selects";
+        }
+        if (violation != null && budget.getMode() == StatementBudgetMode.FAIL) {
+            throw new StatementBudgetExceededException(violation);
+        }
+    }
+
+    public synchronized int total() {
+        return total;
+    }
+
+    public synchronized int selects() {
+        return selects;
+    }
+
+    public synchronized Set<String> selectStatements() {
+        return Collections.unmodifiableSet(selectCounts.keySet());
+    }
+
+    public synchronized String violationKind() {
+        return violationKind;
+    }
+
+    public synchronized String violation() {
+        return violation;
+    }
+
+    public String uri() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    public String endpoint() {
+        return request.getMethod() + " " + uri();
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+}
@@ -0,0 +1,49 @@
+package com.myhomelibrary.library_system.metrics;
+
+import com.myhomelibrary.library_system.configs.StatementBudgetProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final StatementBudgetProperties budget;
+
+    public StatementCounter(StatementBudgetProperties budget) {
+        this.budget = budget;
+    }
+
+    public static RequestStatements start(HttpServletRequest request) {
+        RequestStatements statements = new RequestStatements(request);
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    // Async work runs on another thread; resuming the request's counter there keeps its statements in the request total.
+    public static void resume(RequestStatements statements) {
+        if (statements == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statements);
+        }
+    }
+
+    public static RequestStatements stop() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql, budget);
+        }
+        return sql;
+    }
+}
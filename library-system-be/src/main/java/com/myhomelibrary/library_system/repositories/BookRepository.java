@@ -1,25 +1,84 @@
 package com.myhomelibrary.library_system.repositories;
 
+import com.myhomelibrary.library_system.domains.api.ResourceVersion;
+import com.myhomelibrary.library_system.domains.book.BookIndexEntry;
+import com.myhomelibrary.library_system.domains.book.BookSearchHit;
+import com.myhomelibrary.library_system.domains.book.BookShort;
 import com.myhomelibrary.library_system.entities.BookEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<BookEntity, Long> {
+    int STREAM_FETCH_SIZE = 500;
+
     @EntityGraph(attributePaths = {"user"})
     Optional<BookEntity> findBookById(UUID id);
 
-    @EntityGraph(attributePaths = {"user", "comments", "comments.user"})
+    @EntityGraph(attributePaths = {"user"})
     Optional<BookEntity> findBookByIdAndLibrary_Id(UUID id, UUID libraryId);
 
+    @Query("SELECT new com.myhomelibrary.library_system.domains.api.ResourceVersion(s.version) " +
+            "FROM BookEntity b JOIN LibraryStatsEntity s ON s.libraryId = b.libraryId " +
+            "WHERE b.id = :bookId AND b.library.id = :libraryId")
+    Optional<ResourceVersion> findVersionByIdAndLibrary_Id(@Param("bookId") UUID bookId, @Param("libraryId") UUID libraryId);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.book.BookShort(" +
+            "b.id, b.title, b.author, b.releaseDate, b.language, b.coverImageUrl, b.createdAt, b.updatedAt, u.id, u.username) " +
+            "FROM BookEntity b JOIN b.user u WHERE b.libraryId = (SELECT l.pk FROM LibraryEntity l WHERE l.id = :libraryId) " +
+            "ORDER BY b.updatedAt DESC, b.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<BookShort> streamAllBooksByLibrary_Id(@Param("libraryId") UUID libraryId);
+
     @EntityGraph(attributePaths = {"user"})
-    @Query("SELECT b FROM BookEntity b WHERE b.library.id = :libraryId ORDER BY b.updatedAt DESC, b.createdAt DESC")
-    List<BookEntity> findAllBooksByLibrary_Id(@Param("libraryId") UUID libraryId);
+    @Query("SELECT b FROM BookEntity b WHERE b.libraryId = (SELECT l.pk FROM LibraryEntity l WHERE l.id = :libraryId) ORDER BY b.updatedAt DESC, b.createdAt DESC, b.pk DESC")
+    List<BookEntity> findBooksPageByLibrary_Id(@Param("libraryId") UUID libraryId, Limit limit);
+
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT b FROM BookEntity b WHERE b.libraryId = (SELECT l.pk FROM LibraryEntity l WHERE l.id = :libraryId) " +
+            "AND (b.updatedAt < :updatedAt OR (b.updatedAt = :updatedAt AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.pk < :pk)))) " +
+            "ORDER BY b.updatedAt DESC, b.createdAt DESC, b.pk DESC")
+    List<BookEntity> findBooksPageByLibrary_IdAfter(@Param("libraryId") UUID libraryId, @Param("updatedAt") Instant updatedAt, @Param("createdAt") Instant createdAt, @Param("pk") Long pk, Limit limit);
+
+    @EntityGraph(attributePaths = {"user"})
+    List<BookEntity> findAllByPkIn(Collection<Long> pks);
+
+    @Query(value = "SELECT b.pk AS pk, ts_rank(b.search_vector, q.query) AS rank " +
+            "FROM books b, websearch_to_tsquery('simple', :query) AS q(query) " +
+            "WHERE b.library_id = :libraryId AND b.search_vector @@ q.query " +
+            "ORDER BY rank DESC, b.pk DESC", nativeQuery = true)
+    List<BookSearchHit> searchBooksInLibrary(@Param("libraryId") Long libraryId, @Param("query") String query, Limit limit);
+
+    @Query(value = "SELECT b.pk AS pk, ts_rank(b.search_vector, q.query) AS rank " +
+            "FROM books b, websearch_to_tsquery('simple', :query) AS q(query) " +
+            "WHERE b.library_id = :libraryId AND b.search_vector @@ q.query " +
+            "AND (ts_rank(b.search_vector, q.query) < :rank OR (ts_rank(b.search_vector, q.query) = :rank AND b.pk < :pk)) " +
+            "ORDER BY rank DESC, b.pk DESC", nativeQuery = true)
+    List<BookSearchHit> searchBooksInLibraryAfter(@Param("libraryId") Long libraryId, @Param("query") String query, @Param("rank") float rank, @Param("pk") Long pk, Limit limit);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.book.BookShort(" +
+            "b.id, b.title, b.author, b.releaseDate, b.language, b.coverImageUrl, b.createdAt, b.updatedAt, u.id, u.username) " +
+            "FROM BookEntity b JOIN b.user u WHERE b.libraryId = :libraryPk AND b.updatedAt > :since ORDER BY b.updatedAt, b.pk")
+    List<BookShort> findChangedSince(@Param("libraryPk") Long libraryPk, @Param("since") Instant since, Limit limit);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.book.BookIndexEntry(b.pk, b.id, b.title, b.author, b.genre, b.libraryId) " +
+            "FROM BookEntity b WHERE b.pk > :afterPk ORDER BY b.pk")
+    List<BookIndexEntry> findIndexEntriesAfter(@Param("afterPk") Long afterPk, Limit limit);
+
+    @Query("SELECT b.isbn FROM BookEntity b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
 }
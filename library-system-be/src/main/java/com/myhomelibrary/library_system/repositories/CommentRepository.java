@@ -1,11 +1,16 @@
 package com.myhomelibrary.library_system.repositories;
 
+import com.myhomelibrary.library_system.domains.comment.CommentChange;
+import com.myhomelibrary.library_system.domains.comment.CommentTotals;
 import com.myhomelibrary.library_system.entities.CommentEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +19,28 @@ import java.util.UUID;
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     Optional<CommentEntity> findCommentById(UUID id);
 
+    @Query("SELECT new com.myhomelibrary.library_system.domains.comment.CommentChange(" +
+            "c.id, b.id, c.text, c.rating, c.createdAt, c.updatedAt, u.id, u.username) " +
+            "FROM CommentEntity c JOIN c.book b JOIN c.user u WHERE b.libraryId = :libraryPk AND c.updatedAt > :since ORDER BY c.updatedAt, c.pk")
+    List<CommentChange> findChangedSince(@Param("libraryPk") Long libraryPk, @Param("since") Instant since, Limit limit);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.comment.CommentTotals(COUNT(c), COUNT(c.rating), COALESCE(SUM(c.rating), 0L)) " +
+            "FROM CommentEntity c WHERE c.bookId = :bookId")
+    CommentTotals findCommentTotalsByBookId(@Param("bookId") Long bookId);
+
+    @EntityGraph(attributePaths = {"user"})
     @Query("SELECT c FROM CommentEntity c WHERE c.bookId = :bookId ORDER BY c.updatedAt DESC, c.createdAt DESC")
     List<CommentEntity> findAllByBookId(@Param("bookId") Long bookId);
+
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT c FROM CommentEntity c WHERE c.bookId = :bookId ORDER BY c.updatedAt DESC, c.createdAt DESC, c.pk DESC")
+    List<CommentEntity> findCommentsPageByBookId(@Param("bookId") Long bookId, Limit limit);
+
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT c FROM CommentEntity c WHERE c.bookId = :bookId " +
+            "AND (c.updatedAt < :updatedAt OR (c.updatedAt = :updatedAt AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.pk < :pk)))) " +
+            "ORDER BY c.updatedAt DESC, c.createdAt DESC, c.pk DESC")
+    List<CommentEntity> findCommentsPageByBookIdAfter(@Param("bookId") Long bookId, @Param("updatedAt") Instant updatedAt, @Param("createdAt") Instant createdAt, @Param("pk") Long pk, Limit limit);
+
+    long countByBookId(Long bookId);
 }
@@ -0,0 +1,15 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LibraryRepositoryCustom {
+    Optional<LibraryEntity> findCachedLibraryById(UUID id);
+
+    List<Library> findLibraries(Specification<LibraryEntity> specification, int limit);
+}
@@ -0,0 +1,56 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.entities.LibraryStatsEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class LibraryRepositoryCustomImpl implements LibraryRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LibraryEntity> findCachedLibraryById(UUID id) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(LibraryEntity.class)
+                .loadOptional(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Library> findLibraries(Specification<LibraryEntity> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Library> query = cb.createQuery(Library.class);
+        Root<LibraryEntity> library = query.from(LibraryEntity.class);
+        Join<LibraryEntity, UserEntity> owner = library.join("owner");
+        Join<LibraryEntity, LibraryStatsEntity> stats = library.join("stats", JoinType.LEFT);
+
+        query.select(cb.construct(Library.class,
+                        library.get("id"), library.get("title"), library.get("description"), library.get("color"),
+                        library.get("privacyStatus"), library.get("isEditable"), library.get("createdAt"), library.get("updatedAt"),
+                        owner.get("id"), owner.get("username"),
+                        stats.get("bookCount"), stats.get("commentCount"), stats.get("ratingCount"), stats.get("ratingSum"),
+                        stats.get("lastActivityAt")))
+                .where(specification.toPredicate(library, query, cb))
+                // Keyed on creation order: updatedAt changes on every edit and would move libraries across pages mid-scan.
+                .orderBy(cb.desc(library.get("createdAt")), cb.desc(library.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
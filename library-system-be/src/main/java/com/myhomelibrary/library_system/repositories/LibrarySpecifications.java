@@ -0,0 +1,52 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.api.CreationCursor;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.library.LibraryFilter;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class LibrarySpecifications {
+    private LibrarySpecifications() {
+    }
+
+    public static Specification<LibraryEntity> ownedBy(Long userPk) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userPk);
+    }
+
+    public static Specification<LibraryEntity> notOwnedBy(Long userPk) {
+        return (root, query, cb) -> cb.notEqual(root.get("userId"), userPk);
+    }
+
+    public static Specification<LibraryEntity> hasPrivacyStatus(LibraryPrivacyStatus privacyStatus) {
+        return (root, query, cb) -> cb.equal(root.get("privacyStatus"), privacyStatus);
+    }
+
+    public static Specification<LibraryEntity> matches(LibraryFilter filter) {
+        Specification<LibraryEntity> specification = Specification.unrestricted();
+        if (filter.privacyStatus() != null) {
+            specification = specification.and(hasPrivacyStatus(filter.privacyStatus()));
+        }
+        if (filter.ownerId() != null && !filter.ownerId().isBlank()) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("owner").get("id"), filter.ownerId()));
+        }
+        if (filter.titlePrefix() != null && !filter.titlePrefix().isBlank()) {
+            String pattern = escapeLike(filter.titlePrefix().trim().toLowerCase(Locale.ROOT)) + "%";
+            specification = specification.and((root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\'));
+        }
+        return specification;
+    }
+
+    public static Specification<LibraryEntity> after(CreationCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()), cb.lessThan(root.get("id"), cursor.id()))
+        );
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,34 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.api.ResourceVersion;
+import com.myhomelibrary.library_system.entities.LibraryStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface LibraryStatsRepository extends JpaRepository<LibraryStatsEntity, Long> {
+    @Modifying
+    @Query("UPDATE LibraryStatsEntity s SET s.bookCount = s.bookCount + :bookDelta, " +
+            "s.commentCount = s.commentCount + :commentDelta, " +
+            "s.ratingCount = s.ratingCount + :ratingCountDelta, " +
+            "s.ratingSum = s.ratingSum + :ratingSumDelta, " +
+            "s.lastActivityAt = :activityAt, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.libraryId = :libraryId")
+    int applyDelta(@Param("libraryId") Long libraryId,
+                   @Param("bookDelta") long bookDelta,
+                   @Param("commentDelta") long commentDelta,
+                   @Param("ratingCountDelta") long ratingCountDelta,
+                   @Param("ratingSumDelta") long ratingSumDelta,
+                   @Param("activityAt") Instant activityAt);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.api.ResourceVersion(s.version) " +
+            "FROM LibraryStatsEntity s WHERE s.libraryId = :libraryId")
+    Optional<ResourceVersion> findVersionByLibraryId(@Param("libraryId") Long libraryId);
+}
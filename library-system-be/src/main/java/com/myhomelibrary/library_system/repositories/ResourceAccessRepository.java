@@ -0,0 +1,21 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ResourceAccessRepository extends org.springframework.data.repository.Repository<LibraryEntity, Long> {
+    @Query("SELECT new com.myhomelibrary.library_system.domains.access.ResourceAccess(b.userId, l.userId, l.privacyStatus) " +
+            "FROM BookEntity b JOIN b.library l WHERE b.id = :bookId AND l.id = :libraryId")
+    Optional<ResourceAccess> findBookAccess(@Param("bookId") UUID bookId, @Param("libraryId") UUID libraryId);
+
+    @Query("SELECT new com.myhomelibrary.library_system.domains.access.ResourceAccess(c.userId, l.userId, l.privacyStatus) " +
+            "FROM CommentEntity c JOIN c.book b JOIN b.library l WHERE c.id = :commentId AND l.id = :libraryId")
+    Optional<ResourceAccess> findCommentAccess(@Param("commentId") UUID commentId, @Param("libraryId") UUID libraryId);
+}
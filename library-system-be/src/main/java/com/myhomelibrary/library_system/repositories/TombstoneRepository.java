@@ -0,0 +1,26 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.enums.TombstoneType;
+import com.myhomelibrary.library_system.entities.TombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<TombstoneEntity, Long> {
+    @Query("SELECT t.resourceId FROM TombstoneEntity t " +
+            "WHERE t.libraryId = :libraryId AND t.resourceType = :resourceType AND t.deletedAt > :since ORDER BY t.deletedAt")
+    List<UUID> findDeletedIdsSince(@Param("libraryId") Long libraryId, @Param("resourceType") TombstoneType resourceType,
+                                   @Param("since") Instant since, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TombstoneEntity t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") Instant cutoff);
+}
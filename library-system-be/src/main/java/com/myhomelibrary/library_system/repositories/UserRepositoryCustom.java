@@ -0,0 +1,9 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.entities.UserEntity;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<UserEntity> findCachedUserById(String id);
+}
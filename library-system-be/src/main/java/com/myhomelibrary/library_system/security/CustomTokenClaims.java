@@ -0,0 +1,13 @@
+package com.myhomelibrary.library_system.security;
+
+import com.myhomelibrary.library_system.domains.firebase.UserCustomClaims;
+
+import java.time.Instant;
+
+public record CustomTokenClaims(
+        String uid,
+        UserCustomClaims claims,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
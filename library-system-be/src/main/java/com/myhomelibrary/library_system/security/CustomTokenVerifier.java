@@ -0,0 +1,113 @@
+package com.myhomelibrary.library_system.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.myhomelibrary.library_system.configs.FirebaseProperties;
+import com.myhomelibrary.library_system.domains.enums.FirebaseAuthMode;
+import com.myhomelibrary.library_system.domains.firebase.UserCustomClaims;
+import com.myhomelibrary.library_system.exceptions.UnauthorizedException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+@Component
+public class CustomTokenVerifier {
+    private static final String CUSTOM_TOKEN_AUDIENCE = "https://identitytoolkit.googleapis.com/google.identity.identitytoolkit.v1.IdentityToolkit";
+
+    private final ObjectMapper objectMapper;
+    private final PublicKey publicKey;
+    private final String serviceAccountEmail;
+
+    public CustomTokenVerifier(GoogleCredentials firebaseCredentials, FirebaseProperties firebaseProperties, ObjectMapper objectMapper) throws GeneralSecurityException {
+        this.objectMapper = objectMapper;
+        if (firebaseCredentials instanceof ServiceAccountCredentials serviceAccount
+                && serviceAccount.getPrivateKey() instanceof RSAPrivateCrtKey privateKey) {
+            this.publicKey = toPublicKey(privateKey);
+            this.serviceAccountEmail = serviceAccount.getClientEmail();
+        } else if (firebaseProperties.getAuthMode() == FirebaseAuthMode.LOCAL) {
+            throw new IllegalStateException("Local custom token verification requires service account credentials with an RSA private key");
+        } else {
+            this.publicKey = null;
+            this.serviceAccountEmail = null;
+        }
+    }
+
+    public CustomTokenClaims verify(String customToken) {
+        if (publicKey == null) {
+            throw new UnauthorizedException();
+        }
+
+        String[] parts = split(customToken);
+        try {
+            JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[0]));
+            if (!"RS256".equals(header.path("alg").asText())) {
+                throw new UnauthorizedException();
+            }
+
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(publicKey);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(Base64.getUrlDecoder().decode(parts[2]))) {
+                throw new UnauthorizedException();
+            }
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new UnauthorizedException();
+        }
+
+        JsonNode payload = readPayload(customToken);
+        Instant issuedAt = readInstant(payload.path("iat"));
+        Instant expiresAt = readInstant(payload.path("exp"));
+        Instant now = Instant.now();
+        if (!CUSTOM_TOKEN_AUDIENCE.equals(payload.path("aud").asText())
+                || !serviceAccountEmail.equals(payload.path("iss").asText())
+                || !serviceAccountEmail.equals(payload.path("sub").asText())
+                || issuedAt == null || issuedAt.isAfter(now)
+                || expiresAt == null || !expiresAt.isAfter(now)) {
+            throw new UnauthorizedException();
+        }
+
+        Map<String, Object> claims = objectMapper.convertValue(payload.path("claims"), new TypeReference<>() {
+        });
+        return new CustomTokenClaims(payload.path("uid").asText(null), UserCustomClaims.fromMap(claims), issuedAt, expiresAt);
+    }
+
+    public JsonNode readPayload(String customToken) {
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(split(customToken)[1]));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new UnauthorizedException();
+        }
+    }
+
+    public Instant readInstant(JsonNode epochSeconds) {
+        return epochSeconds.isNumber() ? Instant.ofEpochSecond(epochSeconds.asLong()) : null;
+    }
+
+    private String[] split(String jwt) {
+        String[] parts = jwt.split("\\.");
+        if (parts.length != 3) {
+            throw new UnauthorizedException();
+        }
+        return parts;
+    }
+
+    private static PublicKey toPublicKey(RSAPrivateCrtKey privateKey) throws GeneralSecurityException {
+        BigInteger modulus = privateKey.getModulus();
+        BigInteger publicExponent = privateKey.getPublicExponent();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, publicExponent));
+    }
+}
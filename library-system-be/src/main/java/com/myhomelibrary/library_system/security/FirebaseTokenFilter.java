@@ -1,19 +1,28 @@
 package com.myhomelibrary.library_system.security;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
+import com.myhomelibrary.library_system.configs.FirebaseProperties;
+import com.myhomelibrary.library_system.domains.enums.FirebaseAuthMode;
 import com.myhomelibrary.library_system.domains.firebase.FirebaseSignInResponse;
 import com.myhomelibrary.library_system.domains.firebase.UserCustomClaims;
 import com.myhomelibrary.library_system.domains.user.AuthenticatedUser;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
+import com.myhomelibrary.library_system.exceptions.TooManyAttemptsException;
 import com.myhomelibrary.library_system.exceptions.UnauthorizedException;
 import com.myhomelibrary.library_system.services.FirebaseAuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,36 +30,64 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 
 @Component
 @AllArgsConstructor
 public class FirebaseTokenFilter extends OncePerRequestFilter {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     private final FirebaseAuth firebaseAuth;
     private final FirebaseAuthService firebaseAuthService;
+    private final FirebaseProperties firebaseProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final CustomTokenVerifier customTokenVerifier;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
         String authHeader = request.getHeader("Authorization");
         if (!isBearerToken(authHeader)) {
+            stopTimer(sample, "anonymous");
             filterChain.doFilter(request, response);
             return;
         }
 
         String customToken = extractToken(authHeader);
         try {
-            FirebaseSignInResponse signInResponse = firebaseAuthService.signInWithCustomToken(customToken);
-            FirebaseToken firebaseToken = verifyToken(signInResponse.idToken());
-            UserCustomClaims customClaims = UserCustomClaims.fromMap(firebaseToken.getClaims());
-            validateClaims(customClaims);
-            setAuthentication(customClaims, firebaseToken);
+            VerifiedToken verifiedToken = verifiedTokenCache.get(customToken).orElse(null);
+            String outcome = "cached";
+            if (verifiedToken == null) {
+                verifiedToken = verifyCustomToken(customToken);
+                verifiedTokenCache.put(customToken, verifiedToken);
+                outcome = "verified";
+            }
+            setAuthentication(verifiedToken);
+            stopTimer(sample, outcome);
+        } catch (TooManyAttemptsException e) {
+            // The token may well be valid; a 401 would send the client through refresh and back to login.
+            stopTimer(sample, "throttled");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return;
+        } catch (ServiceUnavailableException e) {
+            stopTimer(sample, "unavailable");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
         } catch (Exception e) {
+            stopTimer(sample, "unauthorized");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
         filterChain.doFilter(request, response);
     }
 
+    private void stopTimer(Timer.Sample sample, String outcome) {
+        sample.stop(meterRegistry.timer("auth.filter", "outcome", outcome));
+    }
+
     private boolean isBearerToken(String authHeader) {
         return authHeader != null && authHeader.startsWith("Bearer ");
     }
@@ -59,6 +96,46 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
         return authHeader.substring(7);
     }
 
+    private VerifiedToken verifyCustomToken(String customToken) throws FirebaseAuthException {
+        CustomTokenClaims tokenClaims = firebaseProperties.getAuthMode() == FirebaseAuthMode.LOCAL
+                ? customTokenVerifier.verify(customToken)
+                : exchangeCustomToken(customToken);
+        UserCustomClaims customClaims = tokenClaims.claims();
+        validateClaims(customClaims);
+
+        if (verifiedTokenCache.isRevoked(customClaims.userPk(), tokenClaims.issuedAt())) {
+            throw new UnauthorizedException();
+        }
+
+        Instant maxExpiresAt = Instant.now().plusSeconds(firebaseProperties.getCustomTokenLifetimeSeconds());
+        Instant expiresAt = tokenClaims.expiresAt() != null && tokenClaims.expiresAt().isBefore(maxExpiresAt)
+                ? tokenClaims.expiresAt()
+                : maxExpiresAt;
+
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + customClaims.role().toUpperCase());
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser(customClaims.userPk(), tokenClaims.uid());
+        return new VerifiedToken(authenticatedUser, authority, expiresAt);
+    }
+
+    private CustomTokenClaims exchangeCustomToken(String customToken) throws FirebaseAuthException {
+        FirebaseSignInResponse signInResponse = firebaseAuthService.signInWithCustomToken(customToken);
+        FirebaseToken firebaseToken = verifyToken(signInResponse.idToken());
+
+        JsonNode customTokenPayload = customTokenVerifier.readPayload(customToken);
+        Instant customTokenExpiresAt = customTokenVerifier.readInstant(customTokenPayload.path("exp"));
+        Instant idTokenExpiresAt = firebaseToken.getClaims().get("exp") instanceof Number exp ? Instant.ofEpochSecond(exp.longValue()) : null;
+        Instant expiresAt = customTokenExpiresAt == null || idTokenExpiresAt == null
+                ? null
+                : (customTokenExpiresAt.isBefore(idTokenExpiresAt) ? customTokenExpiresAt : idTokenExpiresAt);
+
+        return new CustomTokenClaims(
+                firebaseToken.getUid(),
+                UserCustomClaims.fromMap(firebaseToken.getClaims()),
+                customTokenVerifier.readInstant(customTokenPayload.path("iat")),
+                expiresAt
+        );
+    }
+
     private FirebaseToken verifyToken(String idToken) throws FirebaseAuthException {
         return firebaseAuth.verifyIdToken(idToken);
     }
@@ -69,13 +146,11 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
         }
     }
 
-    private void setAuthentication(UserCustomClaims claims, FirebaseToken firebaseToken) {
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + claims.role().toUpperCase());
-        AuthenticatedUser authenticatedUser = new AuthenticatedUser(claims.userPk(), firebaseToken.getUid());
+    private void setAuthentication(VerifiedToken verifiedToken) {
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                authenticatedUser,
+                verifiedToken.user(),
                 null,
-                Collections.singletonList(authority)
+                Collections.singletonList(verifiedToken.authority())
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
@@ -7,12 +7,16 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 public class SecurityUtils {
-    public static AuthenticatedUser getAuthenticatedUser() {
+    public static Authentication getAuthentication() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
             throw new UnauthorizedException();
         }
-        return (AuthenticatedUser) authentication.getPrincipal();
+        return authentication;
+    }
+
+    public static AuthenticatedUser getAuthenticatedUser() {
+        return (AuthenticatedUser) getAuthentication().getPrincipal();
     }
 
     public static Long getAuthenticatedUserPk() {
@@ -20,15 +24,21 @@ public class SecurityUtils {
     }
 
     public static boolean isCurrentUserAdmin() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return isAdmin(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    public static boolean isCurrentUserModerator() {
+        return isModerator(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    public static boolean isAdmin(Authentication authentication) {
         if (authentication == null) return false;
         return authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .anyMatch(auth -> auth.equals("ROLE_ADMIN") || auth.equals("ADMIN"));
     }
 
-    public static boolean isCurrentUserModerator() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    public static boolean isModerator(Authentication authentication) {
         if (authentication == null) return false;
         return authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
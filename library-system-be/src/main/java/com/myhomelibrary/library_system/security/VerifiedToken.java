@@ -0,0 +1,13 @@
+package com.myhomelibrary.library_system.security;
+
+import com.myhomelibrary.library_system.domains.user.AuthenticatedUser;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+
+public record VerifiedToken(
+        AuthenticatedUser user,
+        GrantedAuthority authority,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,99 @@
+package com.myhomelibrary.library_system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.myhomelibrary.library_system.configs.FirebaseProperties;
+import com.myhomelibrary.library_system.events.UserRoleChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+@Component
+public class VerifiedTokenCache {
+    private final Cache<String, VerifiedToken> tokens;
+    private final Cache<Long, Instant> revocations;
+
+    public VerifiedTokenCache(FirebaseProperties firebaseProperties, MeterRegistry meterRegistry) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(firebaseProperties.getTokenCacheMaximumSize())
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "verified_tokens");
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(firebaseProperties.getCustomTokenLifetimeSeconds()))
+                .build();
+    }
+
+    public Optional<VerifiedToken> get(String token) {
+        return Optional.ofNullable(tokens.getIfPresent(hash(token)));
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (verifiedToken.expiresAt().isAfter(Instant.now())) {
+            tokens.put(hash(token), verifiedToken);
+        }
+    }
+
+    public boolean isRevoked(Long userPk, Instant issuedAt) {
+        Instant revokedAt = revocations.getIfPresent(userPk);
+        return revokedAt != null && (issuedAt == null || !issuedAt.isAfter(revokedAt));
+    }
+
+    @TransactionalEventListener
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        invalidateUser(event.userPk());
+    }
+
+    public void invalidateUser(Long userPk) {
+        revocations.put(userPk, Instant.now());
+        tokens.asMap().values().removeIf(token -> userPk.equals(token.user().pk()));
+    }
+
+    public CacheStats stats() {
+        return tokens.stats();
+    }
+
+    public long size() {
+        return tokens.estimatedSize();
+    }
+
+    private static long remainingNanos(VerifiedToken value) {
+        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
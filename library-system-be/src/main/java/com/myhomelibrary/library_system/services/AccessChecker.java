@@ -1,114 +1,125 @@
 package com.myhomelibrary.library_system.services;
 
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
 import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
-import com.myhomelibrary.library_system.entities.LibraryEntity;
-import com.myhomelibrary.library_system.entities.OwnableResource;
+import com.myhomelibrary.library_system.domains.user.AuthenticatedUser;
 import com.myhomelibrary.library_system.exceptions.ForbiddenException;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
+import com.myhomelibrary.library_system.exceptions.UnauthorizedException;
 import com.myhomelibrary.library_system.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.Authentication;
 
 import java.util.UUID;
 
-public class AccessChecker<T extends OwnableResource> {
-    private final ResourceFinder<T> resourceFinder;
+public class AccessChecker {
+    private static final String TIMER_NAME = "access.check";
+
+    private final ResourceFinder<ResourceAccess> accessFinder;
     private final UUID resourceId;
-    private ResourceFinder<LibraryEntity> libraryFinder;
-    private UUID libraryId;
+    private final MeterRegistry meterRegistry;
+    private ResourceAccess access;
     private boolean allowAdmin = false;
     private boolean allowModerator = false;
     private boolean allowOwner = false;
     private boolean allowLibraryOwner = false;
     private boolean allowPublicLibraryMember = false;
 
-    public AccessChecker(ResourceFinder<T> resourceFinder, UUID resourceId) {
-        this.resourceFinder = resourceFinder;
+    public AccessChecker(ResourceFinder<ResourceAccess> accessFinder, UUID resourceId, MeterRegistry meterRegistry) {
+        this.accessFinder = accessFinder;
         this.resourceId = resourceId;
+        this.meterRegistry = meterRegistry;
     }
 
-    public static <T extends OwnableResource> AccessChecker<T> forResource(ResourceFinder<T> resourceFinder, UUID resourceId) {
-        return new AccessChecker<>(resourceFinder, resourceId);
+    public static AccessChecker forResource(ResourceFinder<ResourceAccess> accessFinder, UUID resourceId, MeterRegistry meterRegistry) {
+        return new AccessChecker(accessFinder, resourceId, meterRegistry);
     }
 
-    public AccessChecker<T> allowAdmin() {
+    public AccessChecker allowAdmin() {
         this.allowAdmin = true;
         return this;
     }
 
-    public AccessChecker<T> allowModerator() {
+    public AccessChecker allowModerator() {
         this.allowModerator = true;
         return this;
     }
 
-    public AccessChecker<T> allowOwner() {
+    public AccessChecker allowOwner() {
         this.allowOwner = true;
         return this;
     }
 
-    public AccessChecker<T> allowLibraryOwner(ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
+    public AccessChecker allowLibraryOwner() {
         this.allowLibraryOwner = true;
-        this.libraryFinder = libraryFinder;
-        this.libraryId = libraryId;
         return this;
     }
 
-    public AccessChecker<T> allowPublicLibraryMember(ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
+    public AccessChecker allowPublicLibraryMember() {
         this.allowPublicLibraryMember = true;
-        this.libraryFinder = libraryFinder;
-        this.libraryId = libraryId;
         return this;
     }
 
     public void check() {
-        Long currentUserPk = SecurityUtils.getAuthenticatedUserPk();
-
-        if (allowAdmin && SecurityUtils.isCurrentUserAdmin()) {
-            return;
-        }
-
-        if (allowModerator && SecurityUtils.isCurrentUserModerator()) {
-            return;
-        }
-
-        if (allowOwner && isResourceOwner(currentUserPk)) {
-            return;
-        }
-
-        if (allowLibraryOwner && isLibraryOwner(currentUserPk)) {
-            return;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            if (!allows(SecurityUtils.getAuthentication())) {
+                outcome = "forbidden";
+                throw new ForbiddenException();
+            }
+            outcome = "granted";
+        } catch (NotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(TIMER_NAME, "check", "rules", "outcome", outcome));
         }
+    }
 
-        if (allowPublicLibraryMember && isPublicLibraryMember(currentUserPk)) {
-            return;
+    public void checkOwnerOnly() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            if (!isResourceOwner(SecurityUtils.getAuthenticatedUserPk())) {
+                outcome = "unauthorized";
+                throw new UnauthorizedException();
+            }
+            outcome = "granted";
+        } catch (NotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(TIMER_NAME, "check", "owner_only", "outcome", outcome));
         }
+    }
 
-        throw new ForbiddenException();
+    public boolean allows(Authentication authentication) {
+        Long userPk = ((AuthenticatedUser) authentication.getPrincipal()).pk();
+        return (allowAdmin && SecurityUtils.isAdmin(authentication))
+                || (allowModerator && SecurityUtils.isModerator(authentication))
+                || (allowOwner && isResourceOwner(userPk))
+                || (allowLibraryOwner && isLibraryOwner(userPk))
+                || (allowPublicLibraryMember && isPublicLibraryMember());
     }
 
-    public void checkOwnerOnly() {
-        Long currentUserPk = SecurityUtils.getAuthenticatedUserPk();
-        if (!isResourceOwner(currentUserPk)) {
-            throw new com.myhomelibrary.library_system.exceptions.UnauthorizedException();
+    private ResourceAccess access() {
+        if (access == null) {
+            access = accessFinder.find(resourceId).orElseThrow(NotFoundException::new);
         }
+        return access;
     }
 
     private boolean isResourceOwner(Long userId) {
-        T resource = resourceFinder.find(resourceId).orElseThrow(NotFoundException::new);
-        return resource.getOwnerId().equals(userId);
+        return userId.equals(access().getOwnerId());
     }
 
     private boolean isLibraryOwner(Long userId) {
-        if (libraryFinder == null || libraryId == null) {
-            return false;
-        }
-        LibraryEntity library = libraryFinder.find(libraryId).orElseThrow(NotFoundException::new);
-        return library.getOwnerId().equals(userId);
+        return userId.equals(access().libraryOwnerId());
     }
 
-    private boolean isPublicLibraryMember(Long userId) {
-        if (libraryFinder == null || libraryId == null) {
-            return false;
-        }
-        LibraryEntity library = libraryFinder.find(libraryId).orElseThrow(NotFoundException::new);
-        return library.getPrivacyStatus() == LibraryPrivacyStatus.PUBLIC;
+    private boolean isPublicLibraryMember() {
+        return access().libraryPrivacyStatus() == LibraryPrivacyStatus.PUBLIC;
     }
 }
@@ -1,59 +1,73 @@
 package com.myhomelibrary.library_system.services;
 
-import com.myhomelibrary.library_system.entities.LibraryEntity;
-import com.myhomelibrary.library_system.entities.OwnableResource;
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.UUID;
 
+@Component
+@RequiredArgsConstructor
 public class AccessControl {
+    private final MeterRegistry meterRegistry;
 
-
-    public static <T extends OwnableResource> void requireOwner(ResourceFinder<T> finder, UUID resourceId) {
-        AccessChecker.forResource(finder, resourceId).checkOwnerOnly();
+    public void requireOwner(ResourceFinder<ResourceAccess> finder, UUID resourceId) {
+        AccessChecker.forResource(finder, resourceId, meterRegistry).checkOwnerOnly();
     }
 
-    public static <T extends OwnableResource> void requireOwnerOrAdmin(ResourceFinder<T> finder, UUID resourceId) {
-        AccessChecker.forResource(finder, resourceId)
+    public void requireOwnerOrAdmin(ResourceFinder<ResourceAccess> finder, UUID resourceId) {
+        AccessChecker.forResource(finder, resourceId, meterRegistry)
                 .allowAdmin()
                 .allowOwner()
                 .check();
     }
 
-    public static void requireLibraryAccess(ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
-        AccessChecker.forResource(libraryFinder, libraryId)
+    public void requireLibraryAccess(ResourceFinder<ResourceAccess> libraryFinder, UUID libraryId) {
+        libraryAccess(libraryFinder, libraryId).check();
+    }
+
+    // For checks made on behalf of a user other than the one on the current request, e.g. an event stream subscriber.
+    public boolean hasLibraryAccess(Authentication user, UUID libraryId, ResourceAccess library) {
+        return libraryAccess(id -> Optional.of(library), libraryId).allows(user);
+    }
+
+    public void requireBookPermissions(ResourceFinder<ResourceAccess> bookFinder, UUID bookId) {
+        AccessChecker.forResource(bookFinder, bookId, meterRegistry)
                 .allowAdmin()
-                .allowModerator()
                 .allowOwner()
-                .allowPublicLibraryMember(libraryFinder, libraryId)
+                .allowLibraryOwner()
+                .allowPublicLibraryMember()
                 .check();
     }
 
-    public static <T extends OwnableResource> void requireBookPermissions(ResourceFinder<T> bookFinder, UUID bookId, ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
-        AccessChecker.forResource(bookFinder, bookId)
+    public void requireBookViewPermissions(ResourceFinder<ResourceAccess> bookFinder, UUID bookId) {
+        AccessChecker.forResource(bookFinder, bookId, meterRegistry)
                 .allowAdmin()
+                .allowModerator()
                 .allowOwner()
-                .allowLibraryOwner(libraryFinder, libraryId)
-                .allowPublicLibraryMember(libraryFinder, libraryId)
+                .allowLibraryOwner()
+                .allowPublicLibraryMember()
                 .check();
     }
 
-    public static <T extends OwnableResource> void requireBookViewPermissions(ResourceFinder<T> bookFinder, UUID bookId, ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
-        AccessChecker.forResource(bookFinder, bookId)
+    public void requireCommentPermissions(ResourceFinder<ResourceAccess> commentFinder, UUID commentId) {
+        AccessChecker.forResource(commentFinder, commentId, meterRegistry)
                 .allowAdmin()
                 .allowModerator()
                 .allowOwner()
-                .allowLibraryOwner(libraryFinder, libraryId)
-                .allowPublicLibraryMember(libraryFinder, libraryId)
+                .allowLibraryOwner()
+                .allowPublicLibraryMember()
                 .check();
     }
 
-    public static <T extends OwnableResource> void requireCommentPermissions(ResourceFinder<T> commentFinder, UUID commentId, ResourceFinder<LibraryEntity> libraryFinder, UUID libraryId) {
-        AccessChecker.forResource(commentFinder, commentId)
+    private AccessChecker libraryAccess(ResourceFinder<ResourceAccess> libraryFinder, UUID libraryId) {
+        return AccessChecker.forResource(libraryFinder, libraryId, meterRegistry)
                 .allowAdmin()
                 .allowModerator()
                 .allowOwner()
-                .allowLibraryOwner(libraryFinder, libraryId)
-                .allowPublicLibraryMember(libraryFinder, libraryId)
-                .check();
+                .allowPublicLibraryMember();
     }
 }
@@ -0,0 +1,403 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.book.BookIndexEntry;
+import com.myhomelibrary.library_system.domains.book.DiscoveredBook;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.library.LibraryIndexEntry;
+import com.myhomelibrary.library_system.events.BookChangedEvent;
+import com.myhomelibrary.library_system.events.LibraryChangedEvent;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+@Component
+public class BookDiscoveryIndex {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final int LOAD_CHUNK_SIZE = 5000;
+    private static final int MIN_COMPACTION_DELETES = 1024;
+    private static final int MAX_UNMERGED_PREFIX_TERMS = 16;
+    private static final int MAX_CANDIDATES = 1000;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int GENRE_WEIGHT = 1;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final BookRepository bookRepository;
+    private final LibraryRepository libraryRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private IndexState state;
+    private List<Consumer<IndexState>> pendingChanges;
+
+    public BookDiscoveryIndex(BookRepository bookRepository, LibraryRepository libraryRepository) {
+        this.bookRepository = bookRepository;
+        this.libraryRepository = libraryRepository;
+    }
+
+    // Loads into a fresh state without holding the lock, so writes and searches keep running against the current one.
+    // Changes arriving meanwhile are applied to both and replayed onto the new state just before it is swapped in.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            withWriteLock(() -> pendingChanges = new ArrayList<>());
+            IndexState rebuilt = new IndexState();
+            try {
+                load(rebuilt);
+            } catch (RuntimeException e) {
+                withWriteLock(() -> pendingChanges = null);
+                throw e;
+            }
+            withWriteLock(() -> {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                pendingChanges = null;
+                state = rebuilt;
+            });
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        apply(indexState -> {
+            indexState.remove(event.bookPk());
+            if (event.changeType() != ChangeType.DELETED) {
+                indexState.add(new BookIndexEntry(event.bookPk(), event.bookId(), event.title(), event.author(), event.genre(), event.libraryPk()));
+            }
+            indexState.compactIfNeeded();
+        });
+    }
+
+    @TransactionalEventListener
+    public void onLibraryChanged(LibraryChangedEvent event) {
+        apply(indexState -> {
+            if (event.changeType() == ChangeType.DELETED) {
+                indexState.libraries.remove(event.libraryPk());
+            } else {
+                indexState.libraries.put(event.libraryPk(), new LibraryIndexEntry(event.libraryPk(), event.libraryId(), event.ownerPk(), event.privacyStatus()));
+            }
+        });
+    }
+
+    public List<DiscoveredBook> search(String query, Long userPk, boolean includePrivate, int limit) {
+        List<String> tokens = tokenize(query);
+        int maxResults = Math.clamp(limit, 1, MAX_LIMIT);
+
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                throw new ServiceUnavailableException("Book discovery is starting up. Please try again shortly.");
+            }
+            return tokens.isEmpty() ? List.of() : state.search(tokens, userPk, includePrivate, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load(IndexState indexState) {
+        libraryRepository.findAllIndexEntries().forEach(library -> indexState.libraries.put(library.pk(), library));
+
+        long afterPk = 0;
+        List<BookIndexEntry> chunk;
+        do {
+            chunk = bookRepository.findIndexEntriesAfter(afterPk, Limit.of(LOAD_CHUNK_SIZE));
+            chunk.forEach(indexState::add);
+            if (!chunk.isEmpty()) {
+                afterPk = chunk.getLast().pk();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+    }
+
+    private void apply(Consumer<IndexState> change) {
+        withWriteLock(() -> {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (state != null) {
+                change.accept(state);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isVisible(LibraryIndexEntry library, Long userPk, boolean includePrivate) {
+        if (library.ownerPk().equals(userPk)) {
+            return false;
+        }
+        return includePrivate || library.privacyStatus() == LibraryPrivacyStatus.PUBLIC;
+    }
+
+    private static boolean containsAll(List<DocIdSet> clauses, int docId) {
+        for (DocIdSet clause : clauses) {
+            if (!clause.contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Title matches outrank author matches, which outrank genre matches; an exact word beats a prefix of the last one.
+    private static int score(IndexedBook book, List<String> tokens) {
+        List<String> title = tokenize(book.title());
+        List<String> author = tokenize(book.author());
+        List<String> genre = tokenize(book.genre());
+        int score = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean prefix = i == tokens.size() - 1;
+            score += Math.max(TITLE_WEIGHT * match(title, token, prefix),
+                    Math.max(AUTHOR_WEIGHT * match(author, token, prefix), GENRE_WEIGHT * match(genre, token, prefix)));
+        }
+        return score;
+    }
+
+    private static int match(List<String> terms, String token, boolean prefix) {
+        int match = 0;
+        for (String term : terms) {
+            if (term.equals(token)) {
+                return 2;
+            }
+            if (prefix && term.startsWith(token)) {
+                match = 1;
+            }
+        }
+        return match;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static final class IndexState {
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final List<IndexedBook> documents = new ArrayList<>();
+        private final Map<Long, Integer> documentsByBookPk = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private final Map<Long, LibraryIndexEntry> libraries = new HashMap<>();
+
+        // Walks matches newest first and ranks at most MAX_CANDIDATES of them, so broad prefixes stay cheap.
+        List<DiscoveredBook> search(List<String> tokens, Long userPk, boolean includePrivate, int maxResults) {
+            List<DocIdSet> clauses = new ArrayList<>(tokens.size());
+            for (String token : tokens.subList(0, tokens.size() - 1)) {
+                Postings termPostings = postings.get(token);
+                if (termPostings == null) {
+                    return List.of();
+                }
+                clauses.add(termPostings);
+            }
+            DocIdSet prefixClause = prefixMatches(tokens.getLast());
+            if (prefixClause == null) {
+                return List.of();
+            }
+            clauses.add(prefixClause);
+            clauses.sort(Comparator.comparingInt(DocIdSet::size));
+
+            DocIdSet driver = clauses.getFirst();
+            List<DocIdSet> filters = clauses.subList(1, clauses.size());
+            List<RankedBook> candidates = new ArrayList<>();
+            for (int docId = driver.previous(documents.size()); docId >= 0 && candidates.size() < MAX_CANDIDATES; docId = driver.previous(docId)) {
+                if (deleted.get(docId) || !containsAll(filters, docId)) {
+                    continue;
+                }
+                IndexedBook book = documents.get(docId);
+                LibraryIndexEntry library = libraries.get(book.libraryPk());
+                if (library != null && isVisible(library, userPk, includePrivate)) {
+                    candidates.add(new RankedBook(book, library, score(book, tokens)));
+                }
+            }
+            // Stable sort: equal scores keep the newest-first order.
+            candidates.sort(Comparator.comparingInt(RankedBook::score).reversed());
+            return candidates.stream()
+                    .limit(maxResults)
+                    .map(candidate -> new DiscoveredBook(candidate.book().id(), candidate.book().title(), candidate.book().author(),
+                            candidate.book().genre(), candidate.library().id()))
+                    .toList();
+        }
+
+        private DocIdSet prefixMatches(String prefix) {
+            Collection<Postings> terms = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            if (terms.isEmpty()) {
+                return null;
+            }
+            if (terms.size() == 1) {
+                return terms.iterator().next();
+            }
+            if (terms.size() <= MAX_UNMERGED_PREFIX_TERMS) {
+                return new PostingsUnion(List.copyOf(terms));
+            }
+
+            BitSet bits = new BitSet(documents.size());
+            terms.forEach(termPostings -> termPostings.addTo(bits));
+            return new BitSetDocIdSet(bits);
+        }
+
+        void add(BookIndexEntry entry) {
+            int docId = documents.size();
+            documents.add(new IndexedBook(entry.pk(), entry.id(), entry.title(), entry.author(), entry.genre(), entry.libraryPk()));
+            documentsByBookPk.put(entry.pk(), docId);
+
+            Set<String> terms = new HashSet<>();
+            terms.addAll(tokenize(entry.title()));
+            terms.addAll(tokenize(entry.author()));
+            terms.addAll(tokenize(entry.genre()));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new Postings()).add(docId);
+            }
+        }
+
+        void remove(Long bookPk) {
+            Integer docId = documentsByBookPk.remove(bookPk);
+            if (docId != null) {
+                deleted.set(docId);
+            }
+        }
+
+        void compactIfNeeded() {
+            int deletedCount = deleted.cardinality();
+            if (deletedCount < MIN_COMPACTION_DELETES || deletedCount < documents.size() / 2) {
+                return;
+            }
+
+            List<IndexedBook> live = new ArrayList<>(documents.size() - deletedCount);
+            for (int docId = deleted.nextClearBit(0); docId < documents.size(); docId = deleted.nextClearBit(docId + 1)) {
+                IndexedBook book = documents.get(docId);
+                if (libraries.containsKey(book.libraryPk())) {
+                    live.add(book);
+                }
+            }
+            postings.clear();
+            documents.clear();
+            documentsByBookPk.clear();
+            deleted.clear();
+            live.forEach(book -> add(new BookIndexEntry(book.pk(), book.id(), book.title(), book.author(), book.genre(), book.libraryPk())));
+        }
+    }
+
+    private record RankedBook(IndexedBook book, LibraryIndexEntry library, int score) {
+    }
+
+    private record IndexedBook(Long pk, UUID id, String title, String author, String genre, Long libraryPk) {
+    }
+
+    private interface DocIdSet {
+        int size();
+
+        boolean contains(int docId);
+
+        int previous(int docId);
+    }
+
+    private static final class Postings implements DocIdSet {
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            docIds[size++] = docId;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(docIds[i]);
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int docId) {
+            return Arrays.binarySearch(docIds, 0, size, docId) >= 0;
+        }
+
+        @Override
+        public int previous(int docId) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            int insertionPoint = index >= 0 ? index : -index - 1;
+            return insertionPoint > 0 ? docIds[insertionPoint - 1] : -1;
+        }
+    }
+
+    private record PostingsUnion(List<Postings> terms) implements DocIdSet {
+        @Override
+        public int size() {
+            return terms.stream().mapToInt(Postings::size).sum();
+        }
+
+        @Override
+        public boolean contains(int docId) {
+            for (Postings term : terms) {
+                if (term.contains(docId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int previous(int docId) {
+            int previous = -1;
+            for (Postings term : terms) {
+                previous = Math.max(previous, term.previous(docId));
+            }
+            return previous;
+        }
+    }
+
+    private record BitSetDocIdSet(BitSet bits) implements DocIdSet {
+        @Override
+        public int size() {
+            return bits.cardinality();
+        }
+
+        @Override
+        public boolean contains(int docId) {
+            return bits.get(docId);
+        }
+
+        @Override
+        public int previous(int docId) {
+            return docId > 0 ? bits.previousSetBit(docId - 1) : -1;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.myhomelibrary.library_system.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.myhomelibrary.library_system.domains.book.BookImportError;
+import com.myhomelibrary.library_system.domains.book.BookImportResult;
+import com.myhomelibrary.library_system.domains.book.BookRequest;
+import com.myhomelibrary.library_system.domains.enums.BookImportFormat;
+import com.myhomelibrary.library_system.exceptions.BadRequestException;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("service.calls")
+public class BookImportService {
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    public BookImportService(BookService bookService, BookRepository bookRepository, Validator validator,
+                             EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookService = bookService;
+        this.bookRepository = bookRepository;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.ndjsonReader = objectMapper.readerFor(BookRequest.class);
+        this.csvReader = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build()
+                .readerFor(BookRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    public BookImportResult importBooks(UUID libraryId, BookImportFormat format, InputStream body, Long userId) {
+        var state = new ImportState(libraryId, userId);
+        ObjectReader reader = format == BookImportFormat.CSV ? csvReader : ndjsonReader;
+
+        try (MappingIterator<BookRequest> rows = reader.readValues(body)) {
+            long row = 0;
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonProcessingException e) {
+                    state.fail(row + 1, "Unreadable input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+
+                row++;
+                try {
+                    state.accept(row, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    state.fail(row, "Malformed row: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Import body could not be read");
+        }
+
+        state.flush();
+        return state.result();
+    }
+
+    private final class ImportState {
+        private final UUID libraryId;
+        private final Long userId;
+        private final List<BookRequest> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<Long> chunkRows = new ArrayList<>(CHUNK_SIZE);
+        private final Set<String> seenIsbns = new HashSet<>();
+        private final List<BookImportError> errors = new ArrayList<>();
+        private long imported = 0;
+        private long failed = 0;
+
+        private ImportState(UUID libraryId, Long userId) {
+            this.libraryId = libraryId;
+            this.userId = userId;
+        }
+
+        private void accept(long row, BookRequest bookRequest) {
+            Set<ConstraintViolation<BookRequest>> violations = validator.validate(bookRequest);
+            if (!violations.isEmpty()) {
+                fail(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+
+            if (bookRequest.isbn() != null && !seenIsbns.add(bookRequest.isbn())) {
+                fail(row, "Duplicate ISBN in import: " + bookRequest.isbn());
+                return;
+            }
+
+            chunk.add(bookRequest);
+            chunkRows.add(row);
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            var isbns = chunk.stream().map(BookRequest::isbn).filter(Objects::nonNull).toList();
+            var existingIsbns = isbns.isEmpty() ? Set.<String>of() : new HashSet<>(bookRepository.findExistingIsbns(isbns));
+            var accepted = new ArrayList<BookRequest>(chunk.size());
+            var acceptedRows = new ArrayList<Long>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                BookRequest bookRequest = chunk.get(i);
+                if (bookRequest.isbn() != null && existingIsbns.contains(bookRequest.isbn())) {
+                    fail(chunkRows.get(i), "A book with ISBN " + bookRequest.isbn() + " already exists");
+                } else {
+                    accepted.add(bookRequest);
+                    acceptedRows.add(chunkRows.get(i));
+                }
+            }
+            chunk.clear();
+            chunkRows.clear();
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            insert(accepted, acceptedRows);
+        }
+
+        private void insert(List<BookRequest> books, List<Long> rows) {
+            try {
+                imported += bookService.createBooksInLibrary(libraryId, books, userId);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (books.size() == 1) {
+                    fail(rows.getFirst(), "Row was rejected by the database");
+                    return;
+                }
+            } finally {
+                entityManager.clear();
+            }
+
+            // Bisect the rejected chunk so only the offending rows are reported.
+            int middle = books.size() / 2;
+            insert(books.subList(0, middle), rows.subList(0, middle));
+            insert(books.subList(middle, books.size()), rows.subList(middle, rows.size()));
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportError(row, message));
+            }
+        }
+
+        private BookImportResult result() {
+            return new BookImportResult(imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
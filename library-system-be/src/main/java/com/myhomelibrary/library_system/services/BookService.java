@@ -1,70 +1,180 @@
 package com.myhomelibrary.library_system.services;
 
 import com.myhomelibrary.library_system.converters.BookConverter;
-import com.myhomelibrary.library_system.converters.CommentConverter;
+import com.myhomelibrary.library_system.domains.api.CursorPage;
+import com.myhomelibrary.library_system.domains.api.KeysetCursor;
+import com.myhomelibrary.library_system.domains.api.ResourceVersion;
+import com.myhomelibrary.library_system.domains.api.SearchCursor;
 import com.myhomelibrary.library_system.domains.book.*;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.events.BookChangedEvent;
+import com.myhomelibrary.library_system.exceptions.BadRequestException;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
 import com.myhomelibrary.library_system.repositories.BookRepository;
-import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.calls")
 @AllArgsConstructor
 @Transactional
 public class BookService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final BookRepository bookRepository;
-    private final LibraryRepository libraryRepository;
+    private final UserRepository userRepository;
+    private final RequestResourceCache requestResourceCache;
     private final BookConverter bookConverter;
-    private final CommentConverter commentConverter;
+    private final CommentService commentService;
+    private final LibraryStatsService libraryStatsService;
+    private final TombstoneService tombstoneService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public Stream<BookShort> streamAllBooksByLibraryId(UUID libraryId) {
+        return bookRepository.streamAllBooksByLibrary_Id(libraryId);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getBooksVersionByLibraryId(UUID libraryId) {
+        var library = requestResourceCache.findLibrary(libraryId).orElseThrow(NotFoundException::new);
+        return libraryStatsService.getVersion(library.getPk());
+    }
 
     @Transactional(readOnly = true)
-    public List<BookShort> getAllBooksByLibraryId(UUID libraryId) {
-        return bookRepository.findAllBooksByLibrary_Id(libraryId)
+    public CursorPage<BookShort> getBooksPageByLibraryId(UUID libraryId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookEntity> books;
+        if (cursor == null || cursor.isBlank()) {
+            books = bookRepository.findBooksPageByLibrary_Id(libraryId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            books = bookRepository.findBooksPageByLibrary_IdAfter(libraryId, after.updatedAt(), after.createdAt(), after.pk(), limit);
+        }
+
+        boolean hasMore = books.size() > pageSize;
+        List<BookEntity> page = hasMore ? books.subList(0, pageSize) : books;
+        String nextCursor = null;
+        if (hasMore) {
+            BookEntity last = page.getLast();
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getCreatedAt(), last.getPk()).encode();
+        }
+        return new CursorPage<>(page.stream().map(bookConverter::toBookShort).toList(), nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookShort> searchBooksInLibrary(UUID libraryId, String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query cannot be blank");
+        }
+
+        var library = requestResourceCache.findLibrary(libraryId).orElseThrow(NotFoundException::new);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookSearchHit> hits;
+        if (cursor == null || cursor.isBlank()) {
+            hits = bookRepository.searchBooksInLibrary(library.getPk(), query, limit);
+        } else {
+            SearchCursor after = SearchCursor.decode(cursor);
+            hits = bookRepository.searchBooksInLibraryAfter(library.getPk(), query, after.rank(), after.pk(), limit);
+        }
+
+        boolean hasMore = hits.size() > pageSize;
+        List<BookSearchHit> page = hasMore ? hits.subList(0, pageSize) : hits;
+        String nextCursor = null;
+        if (hasMore) {
+            BookSearchHit last = page.getLast();
+            nextCursor = new SearchCursor(last.getRank(), last.getPk()).encode();
+        }
+
+        Map<Long, BookEntity> books = bookRepository.findAllByPkIn(page.stream().map(BookSearchHit::getPk).toList())
                 .stream()
+                .collect(Collectors.toMap(BookEntity::getPk, Function.identity()));
+        List<BookShort> items = page.stream()
+                .map(hit -> books.get(hit.getPk()))
+                .filter(Objects::nonNull)
                 .map(bookConverter::toBookShort)
                 .toList();
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getBookVersionInLibrary(UUID libraryId, UUID id) {
+        return bookRepository.findVersionByIdAndLibrary_Id(id, libraryId).orElseThrow(NotFoundException::new);
     }
 
     @Transactional(readOnly = true)
     public BookWithComments getBookByIdInLibrary(UUID libraryId, UUID id) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(id, libraryId).orElseThrow(NotFoundException::new);
-        var comments = bookEntity.getComments().stream()
-                .map(commentConverter::toComment)
-                .toList();
-        var book = bookConverter.toBook(bookEntity);
-        return new BookWithComments(book, comments);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, id).orElseThrow(NotFoundException::new);
+        return toBookWithComments(bookEntity);
     }
 
     @Transactional
     public BookWithComments updateBookInLibrary(UUID libraryId, UUID id, BookUpdateRequest bookUpdateRequest) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(id, libraryId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, id).orElseThrow(NotFoundException::new);
         bookConverter.updateBookEntity(bookUpdateRequest, bookEntity);
         var savedBookEntity = bookRepository.save(bookEntity);
-        var comments = savedBookEntity.getComments().stream()
-                .map(commentConverter::toComment)
-                .toList();
-        var book = bookConverter.toBook(savedBookEntity);
-        return new BookWithComments(book, comments);
+        libraryStatsService.bookUpdated(savedBookEntity.getLibraryId());
+        eventPublisher.publishEvent(BookChangedEvent.of(ChangeType.UPDATED, libraryId, savedBookEntity));
+        return toBookWithComments(savedBookEntity);
     }
 
     @Transactional
     public UUID deleteBookByIdInLibrary(UUID libraryId, UUID id) {
-        var book = bookRepository.findBookByIdAndLibrary_Id(id, libraryId).orElseThrow(NotFoundException::new);
+        var book = requestResourceCache.findBookInLibrary(libraryId, id).orElseThrow(NotFoundException::new);
+        libraryStatsService.bookRemoved(book.getLibraryId(), commentService.getCommentTotalsByBookPk(book.getPk()));
         bookRepository.deleteById(book.getPk());
+        tombstoneService.bookDeleted(book.getLibraryId(), book.getId());
+        eventPublisher.publishEvent(BookChangedEvent.of(ChangeType.DELETED, libraryId, book));
         return book.getId();
     }
 
     @Transactional
     public Book createBookInLibrary(UUID libraryId, BookRequest bookRequest, Long userId) {
-        var library = libraryRepository.findLibraryById(libraryId).orElseThrow(NotFoundException::new);
+        var library = requestResourceCache.findLibrary(libraryId).orElseThrow(NotFoundException::new);
+        var userEntity = userRepository.findById(userId).orElseThrow(NotFoundException::new);
         var bookEntity = bookConverter.toBookEntity(bookRequest, library.getPk(), userId);
+        bookEntity.setUser(userEntity);
         var savedBookEntity = bookRepository.save(bookEntity);
-        var entityWithUser = bookRepository.findBookById(savedBookEntity.getId()).orElseThrow();
-        return bookConverter.toBook(entityWithUser);
+        libraryStatsService.booksAdded(library.getPk(), 1);
+        eventPublisher.publishEvent(BookChangedEvent.of(ChangeType.CREATED, libraryId, savedBookEntity));
+        return bookConverter.toBook(savedBookEntity);
+    }
+
+    @Transactional
+    public int createBooksInLibrary(UUID libraryId, List<BookRequest> bookRequests, Long userId) {
+        var library = requestResourceCache.findLibrary(libraryId).orElseThrow(NotFoundException::new);
+        var bookEntities = bookRequests.stream()
+                .map(bookRequest -> bookConverter.toBookEntity(bookRequest, library.getPk(), userId))
+                .toList();
+        bookRepository.saveAll(bookEntities);
+        libraryStatsService.booksAdded(library.getPk(), bookEntities.size());
+        bookEntities.forEach(bookEntity -> eventPublisher.publishEvent(BookChangedEvent.of(ChangeType.CREATED, libraryId, bookEntity)));
+        return bookEntities.size();
+    }
+
+    private BookWithComments toBookWithComments(BookEntity bookEntity) {
+        var comments = commentService.getCommentsPageByBookPk(bookEntity.getPk(), null, CommentService.DEFAULT_PAGE_SIZE);
+        long commentCount = comments.hasMore()
+                ? commentService.countCommentsByBookPk(bookEntity.getPk())
+                : comments.items().size();
+        var book = bookConverter.toBook(bookEntity);
+        return new BookWithComments(book, comments.items(), commentCount, comments.nextCursor());
     }
 }
\ No newline at end of file
@@ -1,14 +1,22 @@
 package com.myhomelibrary.library_system.services;
 
 import com.myhomelibrary.library_system.converters.CommentConverter;
+import com.myhomelibrary.library_system.domains.api.CursorPage;
+import com.myhomelibrary.library_system.domains.api.KeysetCursor;
 import com.myhomelibrary.library_system.domains.comment.Comment;
 import com.myhomelibrary.library_system.domains.comment.CommentRequest;
+import com.myhomelibrary.library_system.domains.comment.CommentTotals;
 import com.myhomelibrary.library_system.domains.comment.CommentUpdateRequest;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.entities.CommentEntity;
+import com.myhomelibrary.library_system.events.CommentChangedEvent;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
-import com.myhomelibrary.library_system.repositories.BookRepository;
 import com.myhomelibrary.library_system.repositories.CommentRepository;
 import com.myhomelibrary.library_system.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,65 +24,114 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed("service.calls")
 @AllArgsConstructor
 @Transactional
 public class CommentService {
-    private final BookRepository bookRepository;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
+    private final RequestResourceCache requestResourceCache;
     private final UserRepository userRepository;
     private final CommentConverter commentConverter;
+    private final LibraryStatsService libraryStatsService;
+    private final TombstoneService tombstoneService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<Comment> getAllCommentsByLibraryAndBookId(UUID libraryId, UUID bookId) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
         return commentRepository.findAllByBookId(bookEntity.getPk()).stream()
                 .map(commentConverter::toComment)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> getCommentsPageByLibraryAndBookId(UUID libraryId, UUID bookId, String cursor, int size) {
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
+        return getCommentsPageByBookPk(bookEntity.getPk(), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> getCommentsPageByBookPk(Long bookPk, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentEntity> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findCommentsPageByBookId(bookPk, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findCommentsPageByBookIdAfter(bookPk, after.updatedAt(), after.createdAt(), after.pk(), limit);
+        }
+
+        boolean hasMore = comments.size() > pageSize;
+        List<CommentEntity> page = hasMore ? comments.subList(0, pageSize) : comments;
+        String nextCursor = null;
+        if (hasMore) {
+            CommentEntity last = page.getLast();
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getCreatedAt(), last.getPk()).encode();
+        }
+        return new CursorPage<>(page.stream().map(commentConverter::toComment).toList(), nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public long countCommentsByBookPk(Long bookPk) {
+        return commentRepository.countByBookId(bookPk);
+    }
+
+    @Transactional(readOnly = true)
+    public CommentTotals getCommentTotalsByBookPk(Long bookPk) {
+        return commentRepository.findCommentTotalsByBookId(bookPk);
+    }
+
     @Transactional(readOnly = true)
     public Comment getCommentByIdInLibraryBook(UUID libraryId, UUID bookId, UUID commentId) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId).orElseThrow(NotFoundException::new);
-        var commentEntity = commentRepository.findCommentById(commentId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
+        var commentEntity = requestResourceCache.findComment(commentId).orElseThrow(NotFoundException::new);
         if (!commentEntity.getBook().getPk().equals(bookEntity.getPk())) throw new NotFoundException();
         return commentConverter.toComment(commentEntity);
     }
 
     @Transactional
     public Comment createCommentInLibraryBook(UUID libraryId, UUID bookId, CommentRequest commentRequest, Long userId) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
         var userEntity = userRepository.findById(userId).orElseThrow(NotFoundException::new);
         var commentEntity = commentConverter.toCommentEntity(commentRequest, bookEntity.getPk(), userId);
         commentEntity.setUser(userEntity);
-        var savedCommentEntity = commentRepository.saveAndFlush(commentEntity);
+        var savedCommentEntity = commentRepository.save(commentEntity);
+        libraryStatsService.commentAdded(bookEntity.getLibraryId(), savedCommentEntity.getRating());
+        eventPublisher.publishEvent(CommentChangedEvent.of(ChangeType.CREATED, libraryId, bookId, savedCommentEntity.getId()));
         return commentConverter.toComment(savedCommentEntity);
     }
 
     @Transactional
     public UUID deleteCommentByIdInLibraryBook(UUID libraryId, UUID bookId, UUID commentId) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId).orElseThrow(NotFoundException::new);
-        var commentEntity = commentRepository.findCommentById(commentId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
+        var commentEntity = requestResourceCache.findComment(commentId).orElseThrow(NotFoundException::new);
         if (!commentEntity.getBook().getPk().equals(bookEntity.getPk())) throw new NotFoundException();
 
         UUID commentUuid = commentEntity.getId();
 
-        if (bookEntity.getComments() != null) {
-            bookEntity.getComments().removeIf(comment -> comment.getPk().equals(commentEntity.getPk()));
-        }
-
+        libraryStatsService.commentRemoved(bookEntity.getLibraryId(), commentEntity.getRating());
         commentRepository.deleteById(commentEntity.getPk());
         commentRepository.flush();
+        tombstoneService.commentDeleted(bookEntity.getLibraryId(), commentUuid);
+        eventPublisher.publishEvent(CommentChangedEvent.of(ChangeType.DELETED, libraryId, bookId, commentUuid));
 
         return commentUuid;
     }
 
     @Transactional
     public Comment updateCommentInLibraryBook(UUID libraryId, UUID bookId, UUID commentId, CommentUpdateRequest commentUpdateRequest) {
-        var bookEntity = bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId).orElseThrow(NotFoundException::new);
-        var commentEntity = commentRepository.findCommentById(commentId).orElseThrow(NotFoundException::new);
+        var bookEntity = requestResourceCache.findBookInLibrary(libraryId, bookId).orElseThrow(NotFoundException::new);
+        var commentEntity = requestResourceCache.findComment(commentId).orElseThrow(NotFoundException::new);
         if (!commentEntity.getBook().getPk().equals(bookEntity.getPk())) throw new NotFoundException();
+        Integer previousRating = commentEntity.getRating();
         commentConverter.updateCommentEntity(commentUpdateRequest, commentEntity);
         var savedCommentEntity = commentRepository.save(commentEntity);
+        libraryStatsService.commentUpdated(bookEntity.getLibraryId(), previousRating, savedCommentEntity.getRating());
+        eventPublisher.publishEvent(CommentChangedEvent.of(ChangeType.UPDATED, libraryId, bookId, savedCommentEntity.getId()));
         return commentConverter.toComment(savedCommentEntity);
     }
 }
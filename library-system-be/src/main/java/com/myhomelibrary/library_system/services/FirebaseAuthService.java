@@ -1,5 +1,6 @@
 package com.myhomelibrary.library_system.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myhomelibrary.library_system.configs.FirebaseProperties;
 import com.myhomelibrary.library_system.domains.firebase.FirebaseErrorResponse;
@@ -8,9 +9,14 @@ import com.myhomelibrary.library_system.domains.firebase.FirebaseSignInRequest;
 import com.myhomelibrary.library_system.domains.firebase.FirebaseSignInResponse;
 import com.myhomelibrary.library_system.exceptions.AuthenticationException;
 import com.myhomelibrary.library_system.exceptions.InvalidCredentialsException;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
 import com.myhomelibrary.library_system.exceptions.TooManyAttemptsException;
 import com.myhomelibrary.library_system.exceptions.UserAccountDisabledException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -20,59 +26,243 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
+@Timed("service.calls")
 public class FirebaseAuthService {
+    private static final String UNAVAILABLE = "Authentication service is temporarily unavailable. Please try again later.";
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final FirebaseProperties firebaseProperties;
+    private final Semaphore permits;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+
+    public FirebaseAuthService(HttpClient httpClient, ObjectMapper objectMapper, FirebaseProperties firebaseProperties, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.firebaseProperties = firebaseProperties;
+        this.permits = new Semaphore(firebaseProperties.getMaxConcurrentRequests());
+        this.circuitBreaker = new CircuitBreaker(firebaseProperties.getCircuitBreakerFailureThreshold(), firebaseProperties.getCircuitBreakerOpenDuration());
+        this.meterRegistry = meterRegistry;
+        this.retries = meterRegistry.counter("firebase.auth.retries");
+        Gauge.builder("firebase.auth.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+    }
 
     private String buildFirebaseUrl(String baseUrl) {
         return baseUrl + "?key=" + URLEncoder.encode(firebaseProperties.getWebApiKey(), StandardCharsets.UTF_8);
     }
 
-    private <T> T sendFirebaseAuthRequest(String url, Object body, Class<T> responseType) {
+    private <T> CompletableFuture<T> sendFirebaseAuthRequestAsync(String endpoint, String url, Object body, Class<T> responseType) {
+        String requestJson;
+        try {
+            requestJson = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+        }
+        long deadline = System.nanoTime() + firebaseProperties.getLatencyBudget().toNanos();
+        return sendAttempt(endpoint, url, requestJson, responseType, 1, deadline);
+    }
+
+    private <T> CompletableFuture<T> sendAttempt(String endpoint, String url, String requestJson, Class<T> responseType, int attempt, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+        }
+
+        HttpRequest request;
         try {
-            String requestJson = objectMapper.writeValueAsString(body);
-            HttpRequest request = HttpRequest.newBuilder()
+            request = HttpRequest.newBuilder()
                     .uri(URI.create(url))
+                    .timeout(Duration.ofNanos(Math.min(remaining, firebaseProperties.getRequestTimeout().toNanos())))
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(requestJson))
                     .build();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() == 200) {
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("firebase.auth.rejected", "reason", "circuit_open").increment();
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+        }
+
+        if (!acquirePermit(attempt, remaining)) {
+            circuitBreaker.onCancelled();
+            meterRegistry.counter("firebase.auth.rejected", "reason", "concurrency_limit").increment();
+            return CompletableFuture.failedFuture(new TooManyAttemptsException("Too many requests. Please wait a moment before trying again."));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<HttpResponse<String>> sent;
+        try {
+            sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            permits.release();
+            circuitBreaker.onCancelled();
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+        }
+
+        return sent
+                .whenComplete((response, error) -> permits.release())
+                .handle((response, error) -> {
+                    boolean retryable = error != null || isRetryableStatus(response.statusCode());
+                    if (retryable) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    String outcome = outcome(response, error);
+                    sample.stop(meterRegistry.timer("firebase.auth.requests", "endpoint", endpoint, "outcome", outcome));
+                    meterRegistry.counter("firebase.auth.attempts", "outcome", outcome).increment();
+
+                    if (retryable && attempt < firebaseProperties.getRetryMaxAttempts()) {
+                        long backoff = backoffNanos(attempt);
+                        if (System.nanoTime() + backoff < deadline) {
+                            retries.increment();
+                            Executor delayed = CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS);
+                            return CompletableFuture.supplyAsync(() -> attempt + 1, delayed)
+                                    .thenCompose(nextAttempt -> sendAttempt(endpoint, url, requestJson, responseType, nextAttempt, deadline));
+                        }
+                    }
+
+                    // Out of attempts or budget on I/O errors, 5xx or 429: the token was never judged, so this is not a 401.
+                    if (retryable) {
+                        return CompletableFuture.<T>failedFuture(new ServiceUnavailableException(UNAVAILABLE));
+                    }
+                    try {
+                        return CompletableFuture.completedFuture(readFirebaseAuthResponse(response, responseType));
+                    } catch (RuntimeException e) {
+                        return CompletableFuture.<T>failedFuture(e);
+                    }
+                })
+                .thenCompose(Function.identity());
+    }
+
+    // Only the first attempt runs on the caller's thread; retries run on the shared delayed executor and must not block it.
+    private boolean acquirePermit(int attempt, long remaining) {
+        if (attempt > 1) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(Math.min(remaining, firebaseProperties.getPermitWait().toNanos()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static String outcome(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            return "io_error";
+        }
+        if (response.statusCode() == 200) {
+            return "success";
+        }
+        return isRetryableStatus(response.statusCode()) ? "retryable_status" : "client_error";
+    }
+
+    private long backoffNanos(int attempt) {
+        long ceiling = firebaseProperties.getRetryInitialBackoff().toNanos() << (attempt - 1);
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private <T> T readFirebaseAuthResponse(HttpResponse<String> response, Class<T> responseType) {
+        if (response.statusCode() == 200) {
+            try {
                 return objectMapper.readValue(response.body(), responseType);
-            } else {
-                handleFirebaseAuthError(response.statusCode(), response.body());
+            } catch (IOException e) {
+                throw new ServiceUnavailableException(UNAVAILABLE);
             }
-        } catch (IOException | InterruptedException | IllegalArgumentException e) {
-            throw new AuthenticationException("Authentication service unavailable");
         }
+        handleFirebaseAuthError(response.statusCode(), response.body());
         throw new AuthenticationException("Authentication failed");
     }
 
-    public FirebaseSignInResponse signInWithEmailAndPassword(String email, String password) {
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        call.get().whenComplete((result, error) -> {
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(unwrap(error));
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared.copy();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (unwrap(e) instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceUnavailableException(UNAVAILABLE);
+        }
+    }
+
+    public CompletableFuture<FirebaseSignInResponse> signInWithEmailAndPasswordAsync(String email, String password) {
         String url = buildFirebaseUrl(firebaseProperties.getIdentityToolkitSignInWithPasswordUrl());
         FirebaseSignInRequest body = new FirebaseSignInRequest(email, password);
-        return sendFirebaseAuthRequest(url, body, FirebaseSignInResponse.class);
+        return sendFirebaseAuthRequestAsync("sign_in_with_password", url, body, FirebaseSignInResponse.class);
+    }
+
+    public CompletableFuture<FirebaseSignInResponse> signInWithCustomTokenAsync(String customToken) {
+        return coalesce("custom-token:" + customToken, () -> {
+            String url = buildFirebaseUrl(firebaseProperties.getIdentityToolkitSignInWithCustomTokenUrl());
+            var body = new HashMap<String, Object>();
+            body.put("token", customToken);
+            body.put("returnSecureToken", true);
+            return sendFirebaseAuthRequestAsync("sign_in_with_custom_token", url, body, FirebaseSignInResponse.class);
+        });
+    }
+
+    public CompletableFuture<FirebaseRefreshTokenResponse> refreshTokenAsync(String refreshToken) {
+        return coalesce("refresh-token:" + refreshToken, () -> {
+            String url = buildFirebaseUrl(firebaseProperties.getIdentityToolkitRefreshTokenUrl());
+            var body = new HashMap<String, Object>();
+            body.put("grant_type", "refresh_token");
+            body.put("refresh_token", refreshToken);
+            return sendFirebaseAuthRequestAsync("refresh_token", url, body, FirebaseRefreshTokenResponse.class);
+        });
+    }
+
+    public FirebaseSignInResponse signInWithEmailAndPassword(String email, String password) {
+        return await(signInWithEmailAndPasswordAsync(email, password));
     }
 
     public FirebaseSignInResponse signInWithCustomToken(String customToken) {
-        String url = buildFirebaseUrl(firebaseProperties.getIdentityToolkitSignInWithCustomTokenUrl());
-        var body = new java.util.HashMap<String, Object>();
-        body.put("token", customToken);
-        body.put("returnSecureToken", true);
-        return sendFirebaseAuthRequest(url, body, FirebaseSignInResponse.class);
+        return await(signInWithCustomTokenAsync(customToken));
     }
 
     public FirebaseRefreshTokenResponse refreshToken(String refreshToken) {
-        String url = buildFirebaseUrl(firebaseProperties.getIdentityToolkitRefreshTokenUrl());
-        var body = new java.util.HashMap<String, Object>();
-        body.put("grant_type", "refresh_token");
-        body.put("refresh_token", refreshToken);
-        return sendFirebaseAuthRequest(url, body, FirebaseRefreshTokenResponse.class);
+        return await(refreshTokenAsync(refreshToken));
     }
 
     private void handleFirebaseAuthError(int statusCode, String responseBody) {
@@ -119,10 +309,6 @@ public class FirebaseAuthService {
                 throw new AuthenticationException("Invalid email or password. Please check your input and try again.");
             case 403:
                 throw new AuthenticationException("Access denied. You don't have permission to perform this action.");
-            case 429:
-                throw new TooManyAttemptsException("Too many requests. Please wait a moment before trying again.");
-            case 500:
-                throw new AuthenticationException("Authentication service is temporarily unavailable. Please try again later.");
             default:
                 throw new AuthenticationException("Authentication failed due to an unexpected error. Please try again.");
         }
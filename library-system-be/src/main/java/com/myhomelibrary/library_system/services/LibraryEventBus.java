@@ -0,0 +1,197 @@
+package com.myhomelibrary.library_system.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myhomelibrary.library_system.configs.LibraryEventsProperties;
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.domains.library.LibraryEvent;
+import com.myhomelibrary.library_system.events.BookChangedEvent;
+import com.myhomelibrary.library_system.events.CommentChangedEvent;
+import com.myhomelibrary.library_system.events.LibraryChangedEvent;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LibraryEventBus {
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final LibraryEventsProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AccessControl accessControl;
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("library-events-heartbeat").daemon().factory());
+    private final Counter droppedSubscribers;
+
+    public LibraryEventBus(LibraryEventsProperties properties, ObjectMapper objectMapper, AccessControl accessControl,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.accessControl = accessControl;
+        Gauge.builder("library.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open library event stream subscriptions")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("library.events.subscribers.dropped")
+                .description("Library event stream subscriptions closed because their buffer overflowed")
+                .register(meterRegistry);
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(UUID libraryId, Authentication subscriber) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open event streams. Please try again shortly.");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getSubscriptionTimeout().toMillis());
+        Subscription subscription = new Subscription(libraryId, subscriber, emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::complete);
+        emitter.onError(error -> subscription.close());
+        subscriptions.compute(libraryId, (id, librarySubscriptions) -> {
+            Set<Subscription> updated = librarySubscriptions == null ? ConcurrentHashMap.newKeySet() : librarySubscriptions;
+            updated.add(subscription);
+            return updated;
+        });
+        subscription.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        publish(event.libraryId(), "book", new LibraryEvent(event.changeType(), event.libraryId(), event.bookId(), null));
+    }
+
+    @TransactionalEventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        publish(event.libraryId(), "comment", new LibraryEvent(event.changeType(), event.libraryId(), event.bookId(), event.commentId()));
+    }
+
+    @TransactionalEventListener
+    public void onLibraryChanged(LibraryChangedEvent event) {
+        Set<Subscription> librarySubscriptions = subscriptions.get(event.libraryId());
+        if (librarySubscriptions == null) {
+            return;
+        }
+        if (event.changeType() == ChangeType.DELETED) {
+            librarySubscriptions.forEach(Subscription::complete);
+        } else {
+            ResourceAccess library = new ResourceAccess(event.ownerPk(), event.ownerPk(), event.privacyStatus());
+            librarySubscriptions.stream()
+                    .filter(subscription -> !accessControl.hasLibraryAccess(subscription.subscriber, event.libraryId(), library))
+                    .forEach(Subscription::complete);
+        }
+    }
+
+    private void publish(UUID libraryId, String name, LibraryEvent event) {
+        Set<Subscription> librarySubscriptions = subscriptions.get(libraryId);
+        if (librarySubscriptions == null || librarySubscriptions.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> data = SseEmitter.event().name(name).data(toJson(event)).build();
+        librarySubscriptions.forEach(subscription -> subscription.offer(data));
+    }
+
+    private void sendHeartbeats() {
+        subscriptions.values().forEach(librarySubscriptions -> librarySubscriptions.forEach(subscription -> subscription.offer(HEARTBEAT)));
+    }
+
+    private String toJson(LibraryEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        subscriptions.values().forEach(librarySubscriptions -> librarySubscriptions.forEach(Subscription::complete));
+        deliveryExecutor.shutdown();
+    }
+
+    private final class Subscription implements Runnable {
+        private final UUID libraryId;
+        private final Authentication subscriber;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new LinkedBlockingQueue<>(properties.getBufferSize());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(UUID libraryId, Authentication subscriber, SseEmitter emitter) {
+            this.libraryId = libraryId;
+            this.subscriber = subscriber;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> data) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(data)) {
+                droppedSubscribers.increment();
+                complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Set<DataWithMediaType> data;
+                while (!closed.get() && (data = buffer.poll()) != null) {
+                    try {
+                        emitter.send(data);
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void complete() {
+            if (close()) {
+                deliveryExecutor.execute(emitter::complete);
+            }
+        }
+
+        boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            buffer.clear();
+            subscriptions.computeIfPresent(libraryId, (id, librarySubscriptions) -> {
+                librarySubscriptions.remove(this);
+                return librarySubscriptions.isEmpty() ? null : librarySubscriptions;
+            });
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.myhomelibrary.library_system.services;
 
 import com.myhomelibrary.library_system.converters.LibraryConverter;
+import com.myhomelibrary.library_system.domains.api.CursorPage;
+import com.myhomelibrary.library_system.domains.api.CreationCursor;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
 import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
 import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.domains.library.LibraryFilter;
 import com.myhomelibrary.library_system.domains.library.LibraryRequest;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.events.LibraryChangedEvent;
 import com.myhomelibrary.library_system.exceptions.NotFoundException;
 import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.LibrarySpecifications;
+import com.myhomelibrary.library_system.repositories.UserRepository;
 import com.myhomelibrary.library_system.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,66 +26,81 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed("service.calls")
 @AllArgsConstructor
 @Transactional
 public class LibraryService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final LibraryRepository libraryRepository;
+    private final UserRepository userRepository;
     private final LibraryConverter libraryConverter;
+    private final RequestResourceCache requestResourceCache;
+    private final LibraryStatsService libraryStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Library getLibraryById(UUID id) {
-        return libraryConverter.toLibrary(libraryRepository.findLibraryById(id).orElseThrow(NotFoundException::new));
+        return libraryConverter.toLibrary(requestResourceCache.findLibrary(id).orElseThrow(NotFoundException::new));
     }
 
     @Transactional(readOnly = true)
-    public List<Library> getAllLibraries(Long userPk) {
-        return libraryRepository.findAllExcludingUser(userPk)
-                .stream()
-                .map(libraryConverter::toLibrary)
-                .toList();
+    public CursorPage<Library> getLibrariesByUserId(Long userPk, LibraryFilter filter, String cursor, int size) {
+        return findLibrariesPage(LibrarySpecifications.ownedBy(userPk).and(LibrarySpecifications.matches(filter)), cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<Library> getLibrariesByUserId(Long userPk) {
-        return libraryRepository.findAllByUserId(userPk)
-                .stream()
-                .map(libraryConverter::toLibrary)
-                .toList();
+    public CursorPage<Library> getAllLibrariesBasedOnRole(Long userPk, LibraryFilter filter, String cursor, int size) {
+        Specification<LibraryEntity> specification = LibrarySpecifications.notOwnedBy(userPk).and(LibrarySpecifications.matches(filter));
+        if (!SecurityUtils.isCurrentUserAdmin() && !SecurityUtils.isCurrentUserModerator()) {
+            specification = specification.and(LibrarySpecifications.hasPrivacyStatus(LibraryPrivacyStatus.PUBLIC));
+        }
+        return findLibrariesPage(specification, cursor, size);
     }
 
-    @Transactional(readOnly = true)
-    public List<Library> getAllLibrariesBasedOnRole(Long userPk) {
-        if (SecurityUtils.isCurrentUserAdmin() || SecurityUtils.isCurrentUserModerator()) {
-            return getAllLibraries(userPk);
-        } else {
-            return libraryRepository.findAllByPrivacyStatusExcludingUser(LibraryPrivacyStatus.PUBLIC, userPk)
-                    .stream()
-                    .map(libraryConverter::toLibrary)
-                    .toList();
+    private CursorPage<Library> findLibrariesPage(Specification<LibraryEntity> specification, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(LibrarySpecifications.after(CreationCursor.decode(cursor)));
         }
+        List<Library> libraries = libraryRepository.findLibraries(specification, pageSize + 1);
+
+        boolean hasMore = libraries.size() > pageSize;
+        List<Library> page = hasMore ? libraries.subList(0, pageSize) : libraries;
+        String nextCursor = null;
+        if (hasMore) {
+            Library last = page.getLast();
+            nextCursor = new CreationCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPage<>(List.copyOf(page), nextCursor, hasMore);
     }
 
     @Transactional
     public UUID deleteLibraryById(UUID id) {
-        var library = libraryRepository.findLibraryById(id).orElseThrow(NotFoundException::new);
+        var library = requestResourceCache.findLibrary(id).orElseThrow(NotFoundException::new);
         libraryRepository.deleteById(library.getPk());
+        eventPublisher.publishEvent(LibraryChangedEvent.of(ChangeType.DELETED, library));
         return library.getId();
     }
 
     @Transactional
     public Library createLibrary(LibraryRequest libraryRequest, Long userId) {
+        var userEntity = userRepository.findById(userId).orElseThrow(NotFoundException::new);
         var libraryEntity = libraryConverter.toLibraryEntity(libraryRequest, userId);
+        libraryEntity.setOwner(userEntity);
         var savedLibraryEntity = libraryRepository.save(libraryEntity);
-        var entityWithOwner = libraryRepository.findLibraryById(savedLibraryEntity.getId()).orElseThrow();
-        return libraryConverter.toLibrary(entityWithOwner);
+        savedLibraryEntity.setStats(libraryStatsService.createStats(savedLibraryEntity.getPk()));
+        eventPublisher.publishEvent(LibraryChangedEvent.of(ChangeType.CREATED, savedLibraryEntity));
+        return libraryConverter.toLibrary(savedLibraryEntity);
     }
 
     @Transactional
     public Library updateLibrary(UUID id, LibraryRequest libraryRequest) {
-        var libraryEntity = libraryRepository.findLibraryById(id).orElseThrow(NotFoundException::new);
+        var libraryEntity = requestResourceCache.findLibrary(id).orElseThrow(NotFoundException::new);
         libraryConverter.updateLibraryEntity(libraryRequest, libraryEntity);
-        var savedLibraryEntity = libraryRepository.save(libraryEntity);
-        var entityWithOwner = libraryRepository.findLibraryById(savedLibraryEntity.getId()).orElseThrow();
-        return libraryConverter.toLibrary(entityWithOwner);
+        var savedLibraryEntity = libraryRepository.saveAndFlush(libraryEntity);
+        eventPublisher.publishEvent(LibraryChangedEvent.of(ChangeType.UPDATED, savedLibraryEntity));
+        return libraryConverter.toLibrary(savedLibraryEntity);
     }
 }
@@ -0,0 +1,60 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.api.ResourceVersion;
+import com.myhomelibrary.library_system.domains.comment.CommentTotals;
+import com.myhomelibrary.library_system.entities.LibraryStatsEntity;
+import com.myhomelibrary.library_system.exceptions.NotFoundException;
+import com.myhomelibrary.library_system.repositories.LibraryStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@Timed("service.calls")
+@AllArgsConstructor
+@Transactional
+public class LibraryStatsService {
+    private final LibraryStatsRepository libraryStatsRepository;
+
+    public LibraryStatsEntity createStats(Long libraryPk) {
+        return libraryStatsRepository.save(LibraryStatsEntity.builder()
+                .libraryId(libraryPk)
+                .lastActivityAt(Instant.now())
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(Long libraryPk) {
+        return libraryStatsRepository.findVersionByLibraryId(libraryPk).orElseThrow(NotFoundException::new);
+    }
+
+    public void booksAdded(Long libraryPk, int count) {
+        libraryStatsRepository.applyDelta(libraryPk, count, 0, 0, 0, Instant.now());
+    }
+
+    public void bookUpdated(Long libraryPk) {
+        libraryStatsRepository.applyDelta(libraryPk, 0, 0, 0, 0, Instant.now());
+    }
+
+    public void bookRemoved(Long libraryPk, CommentTotals bookComments) {
+        libraryStatsRepository.applyDelta(libraryPk, -1,
+                -bookComments.commentCount(), -bookComments.ratingCount(), -bookComments.ratingSum(), Instant.now());
+    }
+
+    public void commentAdded(Long libraryPk, Integer rating) {
+        libraryStatsRepository.applyDelta(libraryPk, 0, 1, rating != null ? 1 : 0, rating != null ? rating : 0, Instant.now());
+    }
+
+    public void commentUpdated(Long libraryPk, Integer previousRating, Integer rating) {
+        long ratingCountDelta = (rating != null ? 1 : 0) - (previousRating != null ? 1 : 0);
+        long ratingSumDelta = (rating != null ? rating : 0) - (previousRating != null ? previousRating : 0);
+        libraryStatsRepository.applyDelta(libraryPk, 0, 0, ratingCountDelta, ratingSumDelta, Instant.now());
+    }
+
+    public void commentRemoved(Long libraryPk, Integer rating) {
+        libraryStatsRepository.applyDelta(libraryPk, 0, -1, rating != null ? -1 : 0, rating != null ? -rating : 0, Instant.now());
+    }
+}
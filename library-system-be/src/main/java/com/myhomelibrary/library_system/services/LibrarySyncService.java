@@ -0,0 +1,61 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.configs.TombstoneProperties;
+import com.myhomelibrary.library_system.converters.LibraryConverter;
+import com.myhomelibrary.library_system.domains.book.BookShort;
+import com.myhomelibrary.library_system.domains.comment.CommentChange;
+import com.myhomelibrary.library_system.domains.enums.TombstoneType;
+import com.myhomelibrary.library_system.domains.library.LibraryChanges;
+import com.myhomelibrary.library_system.exceptions.NotFoundException;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.CommentRepository;
+import com.myhomelibrary.library_system.repositories.TombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Timed("service.calls")
+@AllArgsConstructor
+public class LibrarySyncService {
+    public static final int MAX_CHANGES = 1000;
+    public static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(10);
+
+    private final RequestResourceCache requestResourceCache;
+    private final BookRepository bookRepository;
+    private final CommentRepository commentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final LibraryConverter libraryConverter;
+    private final TombstoneProperties tombstoneProperties;
+
+    @Transactional(readOnly = true)
+    public LibraryChanges getLibraryChangesSince(UUID libraryId, Instant since) {
+        var library = requestResourceCache.findLibrary(libraryId).orElseThrow(NotFoundException::new);
+        Instant watermark = Instant.now();
+        Instant from = since == null ? Instant.EPOCH : since.minus(WATERMARK_OVERLAP);
+        // Deletions older than the retention may already be pruned, so a delta from there could miss them.
+        if (since != null && from.isBefore(watermark.minus(tombstoneProperties.getRetention()))) {
+            return LibraryChanges.reset(watermark);
+        }
+        Limit limit = Limit.of(MAX_CHANGES + 1);
+
+        List<BookShort> books = bookRepository.findChangedSince(library.getPk(), from, limit);
+        List<CommentChange> comments = commentRepository.findChangedSince(library.getPk(), from, limit);
+        List<UUID> deletedBookIds = since == null ? List.of() : tombstoneRepository.findDeletedIdsSince(library.getPk(), TombstoneType.BOOK, from, limit);
+        List<UUID> deletedCommentIds = since == null ? List.of() : tombstoneRepository.findDeletedIdsSince(library.getPk(), TombstoneType.COMMENT, from, limit);
+        if (books.size() > MAX_CHANGES || comments.size() > MAX_CHANGES
+                || deletedBookIds.size() > MAX_CHANGES || deletedCommentIds.size() > MAX_CHANGES) {
+            return LibraryChanges.reset(watermark);
+        }
+
+        var changedLibrary = library.getUpdatedAt().isAfter(from) ? libraryConverter.toLibrary(library) : null;
+        return new LibraryChanges(watermark, false, changedLibrary, books, comments, deletedBookIds, deletedCommentIds);
+    }
+}
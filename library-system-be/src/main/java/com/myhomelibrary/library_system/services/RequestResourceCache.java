@@ -0,0 +1,66 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.CommentEntity;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.CommentRepository;
+import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Component
+@AllArgsConstructor
+public class RequestResourceCache {
+    private static final String ATTRIBUTE_NAME = RequestResourceCache.class.getName();
+
+    private final LibraryRepository libraryRepository;
+    private final BookRepository bookRepository;
+    private final CommentRepository commentRepository;
+
+    public Optional<LibraryEntity> findLibrary(UUID libraryId) {
+        return memoize("library:" + libraryId, () -> libraryRepository.findCachedLibraryById(libraryId));
+    }
+
+    public Optional<ResourceAccess> findLibraryAccess(UUID libraryId) {
+        return findLibrary(libraryId).map(library -> new ResourceAccess(library.getUserId(), library.getUserId(), library.getPrivacyStatus()));
+    }
+
+    public Optional<BookEntity> findBookInLibrary(UUID libraryId, UUID bookId) {
+        return memoize("book:" + libraryId + ":" + bookId, () -> bookRepository.findBookByIdAndLibrary_Id(bookId, libraryId));
+    }
+
+    public Optional<CommentEntity> findComment(UUID commentId) {
+        return memoize("comment:" + commentId, () -> commentRepository.findCommentById(commentId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> memoize(String key, Supplier<Optional<T>> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+
+        var resources = (Map<String, Optional<?>>) attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (resources == null) {
+            resources = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE_NAME, resources, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        var resource = (Optional<T>) resources.get(key);
+        if (resource == null) {
+            resource = loader.get();
+            resources.put(key, resource);
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,45 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.configs.TombstoneProperties;
+import com.myhomelibrary.library_system.domains.enums.TombstoneType;
+import com.myhomelibrary.library_system.entities.TombstoneEntity;
+import com.myhomelibrary.library_system.repositories.TombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@Timed("service.calls")
+@AllArgsConstructor
+@Transactional
+public class TombstoneService {
+    private final TombstoneRepository tombstoneRepository;
+    private final TombstoneProperties properties;
+
+    public void bookDeleted(Long libraryPk, UUID bookId) {
+        save(libraryPk, TombstoneType.BOOK, bookId);
+    }
+
+    public void commentDeleted(Long libraryPk, UUID commentId) {
+        save(libraryPk, TombstoneType.COMMENT, commentId);
+    }
+
+    // Sync answers resetRequired for watermarks older than the retention, so nothing still reads these.
+    @Scheduled(fixedDelayString = "${tombstones.prune-interval:1h}", initialDelayString = "${tombstones.prune-interval:1h}")
+    public void pruneExpired() {
+        tombstoneRepository.deleteDeletedBefore(Instant.now().minus(properties.getRetention()));
+    }
+
+    private void save(Long libraryPk, TombstoneType resourceType, UUID resourceId) {
+        tombstoneRepository.save(TombstoneEntity.builder()
+                .libraryId(libraryPk)
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .build());
+    }
+}
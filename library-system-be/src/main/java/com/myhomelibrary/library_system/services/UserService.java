@@ -13,15 +13,23 @@ import com.myhomelibrary.library_system.domains.user.LoginResponse;
 import com.myhomelibrary.library_system.domains.user.RefreshTokenResponse;
 import com.myhomelibrary.library_system.domains.user.RegistrationRequest;
 import com.myhomelibrary.library_system.domains.user.User;
+import com.myhomelibrary.library_system.events.UserRoleChangedEvent;
+import com.myhomelibrary.library_system.exceptions.NotFoundException;
 import com.myhomelibrary.library_system.exceptions.ResourceAlreadyExistsException;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
 import com.myhomelibrary.library_system.exceptions.TokenValidationException;
+import com.myhomelibrary.library_system.exceptions.TooManyAttemptsException;
 import com.myhomelibrary.library_system.exceptions.UserRegistrationException;
 import com.myhomelibrary.library_system.repositories.UserRepository;
 import com.myhomelibrary.library_system.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("service.calls")
 @RequiredArgsConstructor
 public class UserService {
 
@@ -29,6 +37,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserConverter userConverter;
     private final FirebaseAuthService firebaseAuthService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User registerUser(final RegistrationRequest registrationRequest) {
         User user = userConverter.toUser(registrationRequest, UserRole.MEMBER);
@@ -40,7 +49,7 @@ public class UserService {
                     .setPassword(registrationRequest.password())
                     .setDisplayName(user.getUsername()));
             user.setId(userRecord.getUid());
-            userRepository.save(userConverter.toUserEntity(user));
+            userRepository.saveAndFlush(userConverter.toUserEntity(user));
             return user;
         } catch (FirebaseAuthException e) {
             FirebaseErrorHandler.handleRegistrationError(e);
@@ -66,7 +75,7 @@ public class UserService {
             FirebaseToken decodedToken = firebaseAuth.verifyIdToken(signInResponse.idToken());
             String firebaseUid = decodedToken.getUid();
 
-            User user = userRepository.findUserById(firebaseUid)
+            User user = userRepository.findCachedUserById(firebaseUid)
                     .map(userConverter::toUser)
                     .orElseThrow(() -> new TokenValidationException("User profile not found. Please contact support to resolve this issue."));
 
@@ -112,7 +121,7 @@ public class UserService {
                 throw new TokenValidationException("Authentication session is invalid. Please log in again.");
             }
 
-            return userRepository.findUserById(firebaseUid)
+            return userRepository.findCachedUserById(firebaseUid)
                     .map(userConverter::toUser)
                     .orElseThrow(() -> new TokenValidationException("User profile not found. Your account may have been deleted or there's a synchronization issue. Please contact support."));
         } catch (TokenValidationException te) {
@@ -133,7 +142,7 @@ public class UserService {
             FirebaseToken decodedToken = firebaseAuth.verifyIdToken(firebaseResponse.idToken());
             String firebaseUid = decodedToken.getUid();
 
-            User user = userRepository.findUserById(firebaseUid)
+            User user = userRepository.findCachedUserById(firebaseUid)
                     .map(userConverter::toUser)
                     .orElseThrow(() -> new TokenValidationException("User profile not found. Please contact support to resolve this issue."));
 
@@ -148,11 +157,19 @@ public class UserService {
         } catch (FirebaseAuthException e) {
             FirebaseErrorHandler.handleTokenError(e);
             return null;
-        } catch (TokenValidationException te) {
-            throw te;
+        } catch (TokenValidationException | ServiceUnavailableException | TooManyAttemptsException e) {
+            throw e;
         } catch (Exception e) {
             throw new TokenValidationException("An unexpected error occurred while refreshing your token. Please log in again.");
         }
     }
 
+    @Transactional
+    public User updateUserRole(final String userId, final UserRole role) {
+        var userEntity = userRepository.findUserById(userId).orElseThrow(NotFoundException::new);
+        userEntity.setRole(role);
+        var savedUserEntity = userRepository.save(userEntity);
+        eventPublisher.publishEvent(UserRoleChangedEvent.of(savedUserEntity));
+        return userConverter.toUser(savedUserEntity);
+    }
 }
@@ -0,0 +1,12 @@
+DROP INDEX idx_libraries_user_id_updated_at;
+DROP INDEX idx_libraries_privacy_status_updated_at;
+DROP INDEX idx_libraries_updated_at;
+
+CREATE INDEX idx_libraries_user_id_created_at
+    ON libraries (user_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_libraries_privacy_status_created_at
+    ON libraries (privacy_status, created_at DESC, id DESC);
+
+CREATE INDEX idx_libraries_created_at
+    ON libraries (created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+DROP INDEX idx_comments_updated_at;
+
+CREATE INDEX idx_tombstones_deleted_at
+    ON tombstones (deleted_at);
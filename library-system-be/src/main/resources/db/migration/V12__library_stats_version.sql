@@ -0,0 +1,2 @@
+ALTER TABLE library_stats
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,20 @@
+CREATE INDEX idx_books_library_id_updated_at
+    ON books (library_id, updated_at DESC, created_at DESC, pk DESC);
+
+CREATE INDEX idx_books_user_id
+    ON books (user_id);
+
+CREATE INDEX idx_comments_book_id_updated_at
+    ON comments (book_id, updated_at DESC, created_at DESC, pk DESC);
+
+CREATE INDEX idx_comments_user_id
+    ON comments (user_id);
+
+CREATE INDEX idx_libraries_user_id_updated_at
+    ON libraries (user_id, updated_at DESC, created_at DESC);
+
+CREATE INDEX idx_libraries_privacy_status_updated_at
+    ON libraries (privacy_status, updated_at DESC, created_at DESC);
+
+CREATE INDEX idx_libraries_updated_at
+    ON libraries (updated_at DESC, created_at DESC);
@@ -0,0 +1,31 @@
+ALTER TABLE users
+    ALTER COLUMN pk DROP IDENTITY;
+CREATE SEQUENCE users_pk_seq INCREMENT BY 50;
+SELECT setval('users_pk_seq', COALESCE((SELECT MAX(pk) FROM users), 0) + 50, false);
+ALTER TABLE users
+    ALTER COLUMN pk SET DEFAULT nextval('users_pk_seq');
+ALTER SEQUENCE users_pk_seq OWNED BY users.pk;
+
+ALTER TABLE libraries
+    ALTER COLUMN pk DROP IDENTITY;
+CREATE SEQUENCE libraries_pk_seq INCREMENT BY 50;
+SELECT setval('libraries_pk_seq', COALESCE((SELECT MAX(pk) FROM libraries), 0) + 50, false);
+ALTER TABLE libraries
+    ALTER COLUMN pk SET DEFAULT nextval('libraries_pk_seq');
+ALTER SEQUENCE libraries_pk_seq OWNED BY libraries.pk;
+
+ALTER TABLE books
+    ALTER COLUMN pk DROP IDENTITY;
+CREATE SEQUENCE books_pk_seq INCREMENT BY 50;
+SELECT setval('books_pk_seq', COALESCE((SELECT MAX(pk) FROM books), 0) + 50, false);
+ALTER TABLE books
+    ALTER COLUMN pk SET DEFAULT nextval('books_pk_seq');
+ALTER SEQUENCE books_pk_seq OWNED BY books.pk;
+
+ALTER TABLE comments
+    ALTER COLUMN pk DROP IDENTITY;
+CREATE SEQUENCE comments_pk_seq INCREMENT BY 50;
+SELECT setval('comments_pk_seq', COALESCE((SELECT MAX(pk) FROM comments), 0) + 50, false);
+ALTER TABLE comments
+    ALTER COLUMN pk SET DEFAULT nextval('comments_pk_seq');
+ALTER SEQUENCE comments_pk_seq OWNED BY comments.pk;
@@ -0,0 +1,24 @@
+CREATE TABLE library_stats
+(
+    library_id       BIGINT           NOT NULL,
+    book_count       BIGINT DEFAULT 0 NOT NULL,
+    comment_count    BIGINT DEFAULT 0 NOT NULL,
+    rating_count     BIGINT DEFAULT 0 NOT NULL,
+    rating_sum       BIGINT DEFAULT 0 NOT NULL,
+    last_activity_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_library_stats PRIMARY KEY (library_id)
+);
+
+ALTER TABLE library_stats
+    ADD CONSTRAINT FK_LIBRARY_STATS_ON_LIBRARY FOREIGN KEY (library_id) REFERENCES libraries (pk) ON DELETE CASCADE;
+
+INSERT INTO library_stats (library_id, book_count, comment_count, rating_count, rating_sum, last_activity_at)
+SELECT l.pk,
+       (SELECT COUNT(*) FROM books b WHERE b.library_id = l.pk),
+       (SELECT COUNT(*) FROM comments c JOIN books b ON b.pk = c.book_id WHERE b.library_id = l.pk),
+       (SELECT COUNT(c.rating) FROM comments c JOIN books b ON b.pk = c.book_id WHERE b.library_id = l.pk),
+       (SELECT COALESCE(SUM(c.rating), 0) FROM comments c JOIN books b ON b.pk = c.book_id WHERE b.library_id = l.pk),
+       GREATEST(l.updated_at,
+                (SELECT MAX(b.updated_at) FROM books b WHERE b.library_id = l.pk),
+                (SELECT MAX(c.updated_at) FROM comments c JOIN books b ON b.pk = c.book_id WHERE b.library_id = l.pk))
+FROM libraries l;
@@ -0,0 +1,12 @@
+ALTER TABLE books
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(author, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(isbn, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(genre, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(publisher, '')), 'C') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX idx_books_search_vector
+    ON books USING GIN (search_vector);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_libraries_lower_title
+    ON libraries (lower(title) text_pattern_ops);
@@ -0,0 +1,22 @@
+CREATE SEQUENCE tombstones_pk_seq INCREMENT BY 50;
+
+CREATE TABLE tombstones
+(
+    pk            BIGINT DEFAULT nextval('tombstones_pk_seq') NOT NULL,
+    library_id    BIGINT                                      NOT NULL,
+    resource_type VARCHAR(255)                                NOT NULL,
+    resource_id   UUID                                        NOT NULL,
+    deleted_at    TIMESTAMP WITHOUT TIME ZONE                 NOT NULL,
+    CONSTRAINT pk_tombstones PRIMARY KEY (pk)
+);
+
+ALTER SEQUENCE tombstones_pk_seq OWNED BY tombstones.pk;
+
+ALTER TABLE tombstones
+    ADD CONSTRAINT FK_TOMBSTONES_ON_LIBRARY FOREIGN KEY (library_id) REFERENCES libraries (pk) ON DELETE CASCADE;
+
+CREATE INDEX idx_tombstones_library_id_type_deleted_at
+    ON tombstones (library_id, resource_type, deleted_at);
+
+CREATE INDEX idx_comments_updated_at
+    ON comments (updated_at);
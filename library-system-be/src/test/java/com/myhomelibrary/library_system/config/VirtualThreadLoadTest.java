@@ -0,0 +1,120 @@
+package com.myhomelibrary.library_system.config;
+
+import com.myhomelibrary.library_system.LibrarySystemApplication;
+import com.myhomelibrary.library_system.support.StubHttpServer;
+import com.myhomelibrary.library_system.support.TestDatabase;
+import com.myhomelibrary.library_system.support.TestServiceAccount;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Boots two full contexts and compares wall-clock throughput, so it only runs with -Pload.
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final int TOMCAT_THREADS = 8;
+    private static final int CLIENTS = 48;
+    private static final Duration FIREBASE_LATENCY = Duration.ofMillis(500);
+    private static final Duration WARMUP = Duration.ofSeconds(1);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(4);
+
+    @Test
+    void virtualThreadsKeepServingWhileRequestsBlockOnFirebase() throws Exception {
+        try (StubHttpServer firebase = StubHttpServer.start(exchange -> {
+            try {
+                Thread.sleep(FIREBASE_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubHttpServer.respond(exchange, 400, "{\"error\":{\"message\":\"INVALID_LOGIN_CREDENTIALS\"}}");
+        })) {
+            double platform = loginThroughput(firebase, false);
+            double virtual = loginThroughput(firebase, true);
+
+            String throughput = String.format("login throughput with %d Tomcat threads and %d clients: platform %.0f req/s, virtual %.0f req/s",
+                    TOMCAT_THREADS, CLIENTS, platform, virtual);
+            // Platform threads cap out at TOMCAT_THREADS requests per Firebase round trip.
+            assertThat(platform).as(throughput).isLessThan(1.5 * TOMCAT_THREADS * 1000 / FIREBASE_LATENCY.toMillis());
+            assertThat(virtual).as(throughput).isGreaterThan(2 * platform);
+        }
+    }
+
+    private double loginThroughput(StubHttpServer firebase, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LibrarySystemApplication.class)
+                .run(arguments(firebase, virtualThreads))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI login = URI.create("http://localhost:" + port + "/auth/login");
+            run(login, WARMUP);
+            return run(login, MEASUREMENT) / (MEASUREMENT.toMillis() / 1000.0);
+        }
+    }
+
+    private long run(URI login, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(login)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"reader@example.com\",\"password\":\"secret\"}"))
+                .build();
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isEqualTo(401);
+                        if (System.nanoTime() <= deadline) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return completed.get();
+    }
+
+    private static String[] arguments(StubHttpServer firebase, boolean virtualThreads) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("server.tomcat.threads.max", TOMCAT_THREADS);
+        properties.put("server.tomcat.threads.min-spare", TOMCAT_THREADS);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("spring.datasource.url", TestDatabase.jdbcUrl());
+        properties.put("spring.datasource.username", TestDatabase.USER);
+        properties.put("spring.datasource.password", TestDatabase.USER);
+        properties.put("spring.datasource.hikari.schema", TestDatabase.SCHEMA);
+        properties.put("spring.flyway.user", TestDatabase.USER);
+        properties.put("spring.flyway.password", TestDatabase.USER);
+        properties.put("spring.flyway.schemas", TestDatabase.SCHEMA);
+        properties.put("firebase.service-account-key-path", TestServiceAccount.keyPath());
+        properties.put("firebase.web-api-key", "test");
+        properties.put("firebase.identity-toolkit-sign-in-with-password-url", firebase.url("/signInWithPassword"));
+        properties.put("firebase.max-concurrent-requests", CLIENTS);
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+}
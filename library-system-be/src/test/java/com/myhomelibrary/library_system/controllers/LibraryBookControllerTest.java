@@ -0,0 +1,120 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.services.LibraryStatsService;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LibraryBookControllerTest extends IntegrationTest {
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private LibraryStatsService libraryStatsService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void bookListRevalidatesOnETagOnlyAndChangesWhenABookIsDeleted() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        testData.createBooks(library, 3);
+        String books = "/v1/library/" + library.id() + "/books";
+
+        ResponseEntity<JsonNode> first = get(owner, books, headers -> {
+        });
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        assertThat(first.getHeaders().containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+        assertThat(get(owner, books, headers -> headers.setIfNoneMatch(etag)).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Deleting a book other than the most recently updated one must move the ETag too.
+        JsonNode listed = first.getBody().path("data");
+        String oldest = listed.get(listed.size() - 1).path("id").asText();
+        ResponseEntity<String> deleted = restTemplate.exchange(books + "/" + oldest, HttpMethod.DELETE, testData.authorized(owner), String.class);
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> revalidated = get(owner, books, headers -> headers.setIfNoneMatch(etag));
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(revalidated.getBody().path("data").size()).isEqualTo(2);
+
+        ResponseEntity<JsonNode> dated = get(owner, books, headers -> headers.setIfModifiedSince(ZonedDateTime.now().plusDays(1)));
+        assertThat(dated.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void bookListETagChangesWhenWritesCommitOutOfOrder() throws Exception {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        List<BookEntity> books = testData.createBooks(library, 2);
+        String url = "/v1/library/" + library.id() + "/books";
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch etagRead = new CountDownLatch(1);
+
+        // Same order as BookService.updateBookInLibrary: the book row, and its updated_at, before the stats row.
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            retitle(books.get(0), "First");
+            firstWritten.countDown();
+            await(etagRead);
+            libraryStatsService.bookUpdated(books.get(0).getLibraryId());
+        }));
+        await(firstWritten);
+        transaction.executeWithoutResult(status -> {
+            retitle(books.get(1), "Second");
+            libraryStatsService.bookUpdated(books.get(1).getLibraryId());
+        });
+        String etag = get(owner, url, headers -> {
+        }).getHeaders().getETag();
+        etagRead.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        // The first write has the older updated_at but committed last, leaving both the row count and MAX(updated_at) as they were.
+        assertThat(get(owner, url, headers -> headers.setIfNoneMatch(etag)).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private void retitle(BookEntity book, String title) {
+        BookEntity entity = bookRepository.findById(book.getPk()).orElseThrow();
+        entity.setTitle(title);
+        bookRepository.saveAndFlush(entity);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<JsonNode> get(UserEntity user, String url, Consumer<HttpHeaders> conditions) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(testData.authorized(user).getHeaders());
+        conditions.accept(headers);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+    }
+}
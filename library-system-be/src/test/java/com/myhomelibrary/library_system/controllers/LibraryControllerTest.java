@@ -0,0 +1,175 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhomelibrary.library_system.configs.TombstoneProperties;
+import com.myhomelibrary.library_system.domains.book.BookRequest;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.domains.library.LibraryRequest;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.services.LibraryService;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LibraryControllerTest extends IntegrationTest {
+    @Autowired
+    private LibraryService libraryService;
+    @Autowired
+    private TombstoneProperties tombstoneProperties;
+
+    @Test
+    void ownLibrariesArePagedNewestFirstAndEditsDoNotShiftPages() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.addFirst(testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE).id().toString());
+        }
+
+        JsonNode first = page(owner, "/v1/library", null);
+        assertThat(first.path("hasMore").asBoolean()).isTrue();
+        LibraryRequest rename = new LibraryRequest();
+        rename.setTitle("Renamed");
+        libraryService.updateLibrary(UUID.fromString(first.path("items").get(1).path("id").asText()), rename);
+
+        List<String> seen = new ArrayList<>(ids(first));
+        JsonNode next = first;
+        while (next.path("hasMore").asBoolean()) {
+            next = page(owner, "/v1/library", next.path("nextCursor").asText());
+            seen.addAll(ids(next));
+        }
+
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(next.path("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void allLibrariesArePagedByRole() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library publicLibrary = testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC);
+        Library privateLibrary = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        UserEntity member = testData.createUser(UserRole.MEMBER);
+        UserEntity moderator = testData.createUser(UserRole.MODERATOR);
+
+        assertThat(allOwnedBy(member, owner)).containsExactly(publicLibrary.id().toString());
+        assertThat(allOwnedBy(moderator, owner)).containsExactly(privateLibrary.id().toString(), publicLibrary.id().toString());
+        assertThat(allOwnedBy(owner, owner)).isEmpty();
+    }
+
+    @Test
+    void pageSizeIsBoundedAndCursorIsValidated() {
+        UserEntity member = testData.createUser(UserRole.MEMBER);
+
+        JsonNode page = restTemplate.exchange("/v1/library/all?size=100000", HttpMethod.GET, testData.authorized(member), JsonNode.class)
+                .getBody();
+        assertThat(page.path("data").path("items").size()).isLessThanOrEqualTo(LibraryService.MAX_PAGE_SIZE);
+
+        ResponseEntity<String> invalid = restTemplate.exchange("/v1/library?cursor=not-a-cursor", HttpMethod.GET,
+                testData.authorized(member), String.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void syncFromBeforeTheTombstoneRetentionRequiresAReset() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        UUID bookId = testData.createBooks(library, 1).getFirst().getId();
+        restTemplate.exchange("/v1/library/" + library.id() + "/books/" + bookId, HttpMethod.DELETE, testData.authorized(owner), String.class);
+        Instant retained = Instant.now().minus(tombstoneProperties.getRetention());
+
+        JsonNode recent = sync(owner, library, retained.plus(Duration.ofHours(1)));
+        assertThat(recent.path("resetRequired").asBoolean()).isFalse();
+        assertThat(recent.path("deletedBookIds")).extracting(JsonNode::asText).containsExactly(bookId.toString());
+
+        JsonNode expired = sync(owner, library, retained.minus(Duration.ofHours(1)));
+        assertThat(expired.path("resetRequired").asBoolean()).isTrue();
+        assertThat(expired.path("deletedBookIds")).isEmpty();
+        assertThat(expired.path("watermark").asText()).isNotBlank();
+    }
+
+    @Test
+    void makingALibraryPrivateClosesOnlyTheStreamsThatLostAccess() throws Exception {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC);
+        String events = "/v1/library/" + library.id() + "/events";
+        Map<UserRole, Iterator<String>> streams = new EnumMap<>(UserRole.class);
+        for (UserRole role : List.of(UserRole.MEMBER, UserRole.MODERATOR, UserRole.ADMIN)) {
+            streams.put(role, openEventStream(testData.createUser(role), events).iterator());
+        }
+        Iterator<String> ownerStream = openEventStream(owner, events).iterator();
+
+        LibraryRequest update = new LibraryRequest();
+        update.setTitle("Private now");
+        update.setPrivacyStatus(LibraryPrivacyStatus.PRIVATE);
+        assertThat(restTemplate.exchange("/v1/library/" + library.id(), HttpMethod.PUT, testData.authorized(owner, update), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        BookRequest book = new BookRequest("After", null, null, null, null, null, null, null, null, null);
+        assertThat(restTemplate.exchange("/v1/library/" + library.id() + "/books", HttpMethod.POST, testData.authorized(owner, book), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        assertThat(nextEvent(streams.get(UserRole.MEMBER))).isNull();
+        assertThat(nextEvent(streams.get(UserRole.MODERATOR))).isEqualTo("book");
+        assertThat(nextEvent(streams.get(UserRole.ADMIN))).isEqualTo("book");
+        assertThat(nextEvent(ownerStream)).isEqualTo("book");
+    }
+
+    private JsonNode sync(UserEntity user, Library library, Instant since) {
+        String url = UriComponentsBuilder.fromPath("/v1/library/{id}/sync").queryParam("since", since.toString())
+                .buildAndExpand(library.id()).toUriString();
+        ResponseEntity<JsonNode> response = restTemplate.exchange(url, HttpMethod.GET, testData.authorized(user), JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().path("data");
+    }
+
+    private List<String> allOwnedBy(UserEntity viewer, UserEntity owner) {
+        String url = UriComponentsBuilder.fromPath("/v1/library/all").queryParam("ownerId", owner.getId()).toUriString();
+        return ids(restTemplate.exchange(url, HttpMethod.GET, testData.authorized(viewer), JsonNode.class).getBody().path("data"));
+    }
+
+    private JsonNode page(UserEntity user, String path, String cursor) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromPath(path).queryParam("size", 2);
+        if (cursor != null) {
+            url.queryParam("cursor", cursor);
+        }
+        ResponseEntity<JsonNode> response = restTemplate.exchange(url.toUriString(), HttpMethod.GET, testData.authorized(user), JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().path("data");
+    }
+
+    private static List<String> ids(JsonNode page) {
+        List<String> ids = new ArrayList<>();
+        page.path("items").forEach(item -> ids.add(item.path("id").asText()));
+        return ids;
+    }
+
+    // Name of the next event on the stream, skipping heartbeats, or null once the server has closed it.
+    private static String nextEvent(Iterator<String> stream) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            while (stream.hasNext()) {
+                String line = stream.next();
+                if (line.startsWith("event:")) {
+                    return line.substring("event:".length());
+                }
+            }
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,68 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A single pooled connection makes any request that holds a second one time out instead of passing.
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=2000",
+})
+class ResponseStreamerTest extends IntegrationTest {
+    private static final int BOOKS = 1200;
+
+    @Autowired
+    private ResponseStreamer responseStreamer;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamedBookListCompletesOnASinglePooledConnection() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        testData.createBooks(library, BOOKS);
+
+        ResponseEntity<JsonNode> response = restTemplate.exchange("/v1/library/{libraryId}/books", HttpMethod.GET,
+                testData.authorized(owner), JsonNode.class, library.id());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().path("data").size()).isEqualTo(BOOKS);
+    }
+
+    @Test
+    void failureMidStreamLeavesTheBodyUnterminated() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Stream<Integer> rows = Stream.of(1, 2, 3).map(row -> {
+            if (row == 3) {
+                throw new IllegalStateException("row 3 failed");
+            }
+            return row;
+        });
+
+        assertThatThrownBy(() -> responseStreamer.success(() -> rows).getBody().writeTo(output))
+                .isInstanceOf(IllegalStateException.class);
+
+        String written = output.toString(StandardCharsets.UTF_8);
+        assertThat(written).isEqualTo("{\"status\":\"OK\",\"data\":[1,2");
+        assertThatThrownBy(() -> objectMapper.readTree(written)).isInstanceOf(JsonProcessingException.class);
+    }
+}
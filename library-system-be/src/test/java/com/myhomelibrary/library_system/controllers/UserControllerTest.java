@@ -0,0 +1,82 @@
+package com.myhomelibrary.library_system.controllers;
+
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.user.UserRoleRequest;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.repositories.UserRepository;
+import com.myhomelibrary.library_system.security.VerifiedTokenCache;
+import com.myhomelibrary.library_system.services.UserService;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserControllerTest extends IntegrationTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void roleChangeRevokesTokensIssuedBeforeIt() {
+        UserEntity admin = testData.createUser(UserRole.ADMIN);
+        UserEntity member = testData.createUser(UserRole.MEMBER);
+        HttpHeaders memberHeaders = testData.authorized(member).getHeaders();
+
+        assertThat(restTemplate.exchange("/auth/me", HttpMethod.GET, new HttpEntity<>(memberHeaders), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        var response = restTemplate.exchange("/v1/users/{userId}/role", HttpMethod.PUT,
+                testData.authorized(admin, new UserRoleRequest(UserRole.MODERATOR)), String.class, member.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userRepository.findById(member.getPk())).get().extracting(UserEntity::getRole).isEqualTo(UserRole.MODERATOR);
+        assertThat(restTemplate.exchange("/auth/me", HttpMethod.GET, new HttpEntity<>(memberHeaders), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void onlyAdminsCanChangeRoles() {
+        UserEntity moderator = testData.createUser(UserRole.MODERATOR);
+        UserEntity member = testData.createUser(UserRole.MEMBER);
+
+        var response = restTemplate.exchange("/v1/users/{userId}/role", HttpMethod.PUT,
+                testData.authorized(moderator, new UserRoleRequest(UserRole.ADMIN)), String.class, member.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(userRepository.findById(member.getPk())).get().extracting(UserEntity::getRole).isEqualTo(UserRole.MEMBER);
+    }
+
+    @Test
+    void tokenCacheIsInvalidatedOnlyAfterCommit() {
+        UserEntity member = testData.createUser(UserRole.MEMBER);
+        Instant issuedAt = Instant.now().minusSeconds(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            userService.updateUserRole(member.getId(), UserRole.MODERATOR);
+            assertThat(verifiedTokenCache.isRevoked(member.getPk(), issuedAt)).isFalse();
+        });
+        assertThat(verifiedTokenCache.isRevoked(member.getPk(), issuedAt)).isTrue();
+
+        UserEntity other = testData.createUser(UserRole.MEMBER);
+        transaction.executeWithoutResult(status -> {
+            userService.updateUserRole(other.getId(), UserRole.ADMIN);
+            status.setRollbackOnly();
+        });
+        assertThat(verifiedTokenCache.isRevoked(other.getPk(), issuedAt)).isFalse();
+    }
+}
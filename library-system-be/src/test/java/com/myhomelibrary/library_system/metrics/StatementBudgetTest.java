@@ -0,0 +1,295 @@
+package com.myhomelibrary.library_system.metrics;
+
+import com.myhomelibrary.library_system.domains.book.BookRequest;
+import com.myhomelibrary.library_system.domains.book.BookUpdateRequest;
+import com.myhomelibrary.library_system.domains.comment.Comment;
+import com.myhomelibrary.library_system.domains.comment.CommentRequest;
+import com.myhomelibrary.library_system.domains.comment.CommentUpdateRequest;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.domains.library.LibraryRequest;
+import com.myhomelibrary.library_system.domains.user.UserRoleRequest;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.services.CommentService;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs with statement-budget.mode=FAIL, so an endpoint over budget already fails its request; these pin each
+// endpoint's exact statement count so any new query, N+1 or not, shows up here first.
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StatementBudgetTest extends IntegrationTest {
+    private static final int BOOKS = 30;
+    private static final int COMMENTS = 30;
+    private static final Duration SAMPLE_TIMEOUT = Duration.ofSeconds(5);
+
+    // Every controller endpoint is measured below except these.
+    private static final Map<String, String> EXCLUDED = Map.of(
+            "POST /auth/register", "creates the account in Firebase, which the test context cannot reach",
+            "POST /auth/login", "signs in through the Firebase REST API, which the test context cannot reach",
+            "POST /auth/refresh", "exchanges the refresh token through the Firebase REST API, which the test context cannot reach");
+    private static final Set<String> measured = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private UserEntity owner;
+    private UserEntity admin;
+    private Library library;
+    private UUID bookId;
+    private UUID commentId;
+
+    @BeforeEach
+    void setUp() {
+        owner = testData.createUser(UserRole.MEMBER);
+        admin = testData.createUser(UserRole.ADMIN);
+        library = testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC);
+        testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        bookId = testData.createBooks(library, BOOKS).getFirst().getId();
+        List<UserEntity> commenters = List.of(owner, testData.createUser(UserRole.MEMBER), testData.createUser(UserRole.MEMBER));
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = createComment(commenters.get(i % commenters.size()), i);
+            if (i == 0) {
+                commentId = comment.id();
+            }
+        }
+    }
+
+    @Test
+    void libraryEndpointsStayWithinTheirStatementCounts() {
+        assertThat(statements(owner, "/v1/library", "/v1/library")).isEqualTo(1);
+        assertThat(statements(admin, "/v1/library/all", "/v1/library/all")).isEqualTo(1);
+        assertThat(statements(owner, "/v1/library/all/books", "/v1/library/all/books?q=book")).isEqualTo(0);
+        assertThat(statements(owner, "/v1/library/{id}", "/v1/library/" + library.id())).isEqualTo(1);
+        assertThat(statements(owner, "/v1/library/{id}/sync", "/v1/library/" + library.id() + "/sync")).isEqualTo(3);
+    }
+
+    @Test
+    void libraryWritesStayWithinTheirStatementCounts() {
+        Iterator<Library> emptyLibraries = IntStream.range(0, 3)
+                .mapToObj(i -> testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC)).iterator();
+
+        assertThat(insertStatements("POST", "/v1/library",
+                () -> call(owner, HttpMethod.POST, "/v1/library", libraryRequest()))).isEqualTo(3);
+        assertThat(statements("PUT", "/v1/library/{id}",
+                () -> call(owner, HttpMethod.PUT, "/v1/library/" + library.id(), libraryRequest()))).isEqualTo(2);
+        assertThat(insertStatements("DELETE", "/v1/library/{id}",
+                () -> call(owner, HttpMethod.DELETE, "/v1/library/" + emptyLibraries.next().id(), null))).isEqualTo(2);
+    }
+
+    @Test
+    void bookEndpointsStayWithinTheirStatementCounts() {
+        String books = "/v1/library/" + library.id() + "/books";
+
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/page", books + "/page")).isEqualTo(1);
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/search", books + "/search?q=book")).isEqualTo(2);
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/{id}", books + "/" + bookId)).isEqualTo(5);
+    }
+
+    @Test
+    void bookWritesStayWithinTheirStatementCounts() {
+        String books = "/v1/library/" + library.id() + "/books";
+        Iterator<UUID> spareBooks = testData.createBooks(library, 3).stream().map(BookEntity::getId).iterator();
+        BookUpdateRequest update = new BookUpdateRequest("Retitled", null, null, null, null, null, null, null, null, null);
+
+        assertThat(insertStatements("POST", "/v1/library/{libraryId}/books",
+                () -> call(owner, HttpMethod.POST, books, bookRequest()))).isEqualTo(2);
+        assertThat(statements("PUT", "/v1/library/{libraryId}/books/{id}",
+                () -> call(owner, HttpMethod.PUT, books + "/" + bookId, update))).isEqualTo(5);
+        assertThat(insertStatements("DELETE", "/v1/library/{libraryId}/books/{id}",
+                () -> call(owner, HttpMethod.DELETE, books + "/" + spareBooks.next(), null))).isEqualTo(7);
+        // Three rows, one insert batch; the count grows with the number of batches, not rows.
+        assertThat(insertStatements("POST", "/v1/library/{libraryId}/books/import",
+                () -> importCsv(books + "/import", "title,author\nFirst,A\nSecond,B\nThird,C\n"))).isEqualTo(2);
+    }
+
+    @Test
+    void commentEndpointsStayWithinTheirStatementCounts() {
+        String comments = "/v1/library/" + library.id() + "/books/" + bookId + "/comments";
+
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/{bookId}/comments", comments)).isEqualTo(2);
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/{bookId}/comments/page", comments + "/page")).isEqualTo(3);
+        assertThat(statements(owner, "/v1/library/{libraryId}/books/{bookId}/comments/{id}", comments + "/" + commentId)).isEqualTo(2);
+    }
+
+    @Test
+    void commentWritesStayWithinTheirStatementCounts() {
+        String comments = "/v1/library/" + library.id() + "/books/" + bookId + "/comments";
+        Iterator<UUID> spareComments = IntStream.range(0, 3)
+                .mapToObj(i -> createComment(owner, i).id()).iterator();
+        CommentUpdateRequest update = new CommentUpdateRequest();
+        update.setText("Edited");
+        update.setRating(4);
+
+        assertThat(insertStatements("POST", "/v1/library/{libraryId}/books/{bookId}/comments",
+                () -> call(owner, HttpMethod.POST, comments, new CommentRequest("New comment", 3)))).isEqualTo(3);
+        assertThat(statements("PUT", "/v1/library/{libraryId}/books/{bookId}/comments/{id}",
+                () -> call(owner, HttpMethod.PUT, comments + "/" + commentId, update))).isEqualTo(4);
+        assertThat(insertStatements("DELETE", "/v1/library/{libraryId}/books/{bookId}/comments/{id}",
+                () -> call(owner, HttpMethod.DELETE, comments + "/" + spareComments.next(), null))).isEqualTo(6);
+    }
+
+    @Test
+    void userEndpointsStayWithinTheirStatementCounts() {
+        Iterator<UserEntity> members = IntStream.range(0, 2).mapToObj(i -> testData.createUser(UserRole.MEMBER)).iterator();
+
+        assertThat(statements(owner, "/auth/me", "/auth/me")).isEqualTo(0);
+        assertThat(statements("PUT", "/v1/users/{userId}/role", () -> call(admin, HttpMethod.PUT,
+                "/v1/users/" + members.next().getId() + "/role", new UserRoleRequest(UserRole.MODERATOR)))).isEqualTo(2);
+    }
+
+    @Test
+    void streamedResponsesCountTheQueriesRunOnTheAsyncThread() {
+        String pattern = "/v1/library/{libraryId}/books";
+        String url = "/v1/library/" + library.id() + "/books";
+
+        // Version lookup on the request thread, the streaming select on the async one;
+        // the async dispatch must not record a second sample.
+        assertThat(statements(owner, pattern, url)).isEqualTo(2);
+    }
+
+    @Test
+    void eventStreamsAreCountedWhenTheyClose() {
+        // Deleting the library closes its streams, which records the subscription's sample.
+        assertThat(statements("GET", "/v1/library/{id}/events", () -> {
+            Library subscribed = testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC);
+            try (Stream<String> events = openEventStream(owner, "/v1/library/" + subscribed.id() + "/events")) {
+                call(owner, HttpMethod.DELETE, "/v1/library/" + subscribed.id(), null);
+                events.forEach(line -> {
+                });
+            }
+        })).isEqualTo(0);
+    }
+
+    // Runs last, once the tests above have filled in the measured endpoints.
+    @Test
+    @Order(Integer.MAX_VALUE)
+    void everyEndpointIsMeasuredOrExcluded() {
+        Set<String> endpoints = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> mapping : handlerMapping.getHandlerMethods().entrySet()) {
+            if (!mapping.getValue().getBeanType().getPackageName().startsWith("com.myhomelibrary")) {
+                continue;
+            }
+            for (var method : mapping.getKey().getMethodsCondition().getMethods()) {
+                for (String pattern : mapping.getKey().getPatternValues()) {
+                    endpoints.add(method.name() + " " + pattern);
+                }
+            }
+        }
+
+        assertThat(endpoints).containsAll(EXCLUDED.keySet());
+        endpoints.removeAll(EXCLUDED.keySet());
+        assertThat(measured).containsExactlyInAnyOrderElementsOf(endpoints);
+    }
+
+    // Each endpoint is called once to warm the entity cache, then measured on the second call.
+    private int statements(UserEntity user, String pattern, String url) {
+        return statements("GET", pattern, () -> call(user, HttpMethod.GET, url, null));
+    }
+
+    private int statements(String method, String pattern, Runnable request) {
+        request.run();
+        return measure(method, pattern, request);
+    }
+
+    // Inserts draw ids from pooled sequences, so one call in fifty also fetches the next block of ids;
+    // two calls in a row never both do, and the smaller count is the steady state.
+    private int insertStatements(String method, String pattern, Runnable request) {
+        request.run();
+        return Math.min(measure(method, pattern, request), measure(method, pattern, request));
+    }
+
+    private int measure(String method, String pattern, Runnable request) {
+        long count = sampleCount(method, pattern);
+        double total = count == 0 ? 0 : statementsOf(method, pattern).totalAmount();
+
+        request.run();
+
+        awaitSample(method, pattern, count + 1);
+        measured.add(method + " " + pattern);
+        return (int) (statementsOf(method, pattern).totalAmount() - total);
+    }
+
+    private void call(UserEntity user, HttpMethod method, String url, Object body) {
+        var response = restTemplate.exchange(url, method, testData.authorized(user, body), String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).as(method + " " + url + ": " + response.getStatusCode()).isTrue();
+    }
+
+    private void importCsv(String url, String csv) {
+        HttpHeaders headers = testData.authorized(owner).getHeaders();
+        HttpHeaders csvHeaders = new HttpHeaders();
+        csvHeaders.addAll(headers);
+        csvHeaders.setContentType(MediaType.parseMediaType("text/csv"));
+        var response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(csv, csvHeaders), String.class);
+        assertThat(response.getStatusCode()).as(url).isEqualTo(HttpStatus.OK);
+    }
+
+    private Comment createComment(UserEntity user, int n) {
+        return commentService.createCommentInLibraryBook(library.id(), bookId, new CommentRequest("Comment " + n, 1 + n % 5), user.getPk());
+    }
+
+    private LibraryRequest libraryRequest() {
+        LibraryRequest request = new LibraryRequest();
+        request.setTitle("Library " + UUID.randomUUID());
+        request.setPrivacyStatus(LibraryPrivacyStatus.PUBLIC);
+        return request;
+    }
+
+    private BookRequest bookRequest() {
+        return new BookRequest("New book", "New author", null, null, null, null, null, null, null, null);
+    }
+
+    // Streams record their sample on the async dispatch, which may land just after the client has seen the end of the body.
+    private void awaitSample(String method, String pattern, long count) {
+        Instant deadline = Instant.now().plus(SAMPLE_TIMEOUT);
+        while (sampleCount(method, pattern) < count && Instant.now().isBefore(deadline)) {
+            Thread.onSpinWait();
+        }
+        assertThat(sampleCount(method, pattern)).as(method + " " + pattern).isEqualTo(count);
+    }
+
+    private long sampleCount(String method, String pattern) {
+        DistributionSummary summary = meterRegistry.find("db.queries.per.request").tags("method", method, "uri", pattern).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private DistributionSummary statementsOf(String method, String pattern) {
+        return meterRegistry.get("db.queries.per.request").tags("method", method, "uri", pattern).summary();
+    }
+}
@@ -0,0 +1,202 @@
+package com.myhomelibrary.library_system.repositories;
+
+import com.myhomelibrary.library_system.domains.api.CreationCursor;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.LibraryFilter;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.metrics.StatementCounter;
+import com.myhomelibrary.library_system.services.LibraryService;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import com.myhomelibrary.library_system.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanTest extends IntegrationTest {
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static final Set<String> INDEXED_TABLES = Set.of("books", "comments", "libraries");
+
+    private static boolean seeded;
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private LibraryRepository libraryRepository;
+    @Autowired
+    private LibraryStatsRepository libraryStatsRepository;
+    @Autowired
+    private LibraryService libraryService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedRealisticStatistics() {
+        if (seeded) {
+            return;
+        }
+        // Generic plans follow table statistics, so give the planner many small libraries rather than
+        // whatever skew the other tests leave behind.
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, name, surname, username, email, date_of_birth, role, created_at, updated_at)
+                SELECT 'query-plan-' || n, 'Query', 'Plan', 'query-plan-' || n, 'query-plan-' || n || '@example.com',
+                       DATE '1990-01-01', 'MEMBER', now(), now()
+                FROM generate_series(1, 50) n""");
+        jdbcTemplate.execute("""
+                INSERT INTO libraries (id, title, privacy_status, is_editable, created_at, updated_at, user_id)
+                SELECT gen_random_uuid(), 'Query plan library ' || n, CASE WHEN n % 2 = 0 THEN 'PUBLIC' ELSE 'PRIVATE' END,
+                       true, now() - n * interval '1 minute', now() - n * interval '1 minute', u.pk
+                FROM users u CROSS JOIN generate_series(1, 10) n
+                WHERE u.id LIKE 'query-plan-%'""");
+        jdbcTemplate.execute("""
+                INSERT INTO books (id, title, created_at, updated_at, library_id, user_id)
+                SELECT gen_random_uuid(), 'Query plan book ' || n, now() - n * interval '1 minute', now() - n * interval '1 minute',
+                       l.pk, l.user_id
+                FROM libraries l CROSS JOIN generate_series(1, 20) n
+                WHERE l.title LIKE 'Query plan library %'""");
+        jdbcTemplate.execute("""
+                INSERT INTO comments (id, text, rating, created_at, updated_at, user_id, book_id)
+                SELECT gen_random_uuid(), 'Query plan comment', 5, now() - n * interval '1 minute', now() - n * interval '1 minute',
+                       b.user_id, b.pk
+                FROM books b CROSS JOIN generate_series(1, 3) n
+                WHERE b.title LIKE 'Query plan book %'""");
+        jdbcTemplate.execute("ANALYZE users, libraries, books, comments");
+        seeded = true;
+    }
+
+    @Test
+    void bookListQueriesUseIndexes() throws SQLException {
+        UUID libraryId = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        assertIndexed("idx_books_library_id_updated_at", () -> bookRepository.streamAllBooksByLibrary_Id(libraryId).forEach(book -> {
+        }));
+        assertIndexOrdered("idx_books_library_id_updated_at", () -> bookRepository.findBooksPageByLibrary_Id(libraryId, Limit.of(50)));
+        assertIndexOrdered("idx_books_library_id_updated_at", () -> bookRepository.findBooksPageByLibrary_IdAfter(libraryId, now, now, 1L, Limit.of(50)));
+        assertIndexed("idx_books_library_id_updated_at", () -> bookRepository.findChangedSince(1L, now, Limit.of(1000)));
+        assertIndexed("pk_library_stats", () -> libraryStatsRepository.findVersionByLibraryId(1L));
+        assertIndexed("idx_books_library_id_updated_at", () -> bookRepository.searchBooksInLibrary(1L, "tolkien", Limit.of(20)));
+        assertIndexed("idx_books_library_id_updated_at", () -> bookRepository.searchBooksInLibraryAfter(1L, "tolkien", 0.5f, 1L, Limit.of(20)));
+        assertIndexOrdered("pk_books", () -> bookRepository.findIndexEntriesAfter(0L, Limit.of(1000)));
+    }
+
+    @Test
+    void commentListQueriesUseIndexes() throws SQLException {
+        Instant now = Instant.now();
+
+        assertIndexOrdered("idx_comments_book_id_updated_at", () -> commentRepository.findCommentsPageByBookId(1L, Limit.of(20)));
+        assertIndexOrdered("idx_comments_book_id_updated_at", () -> commentRepository.findCommentsPageByBookIdAfter(1L, now, now, 1L, Limit.of(20)));
+        assertIndexed("idx_comments_book_id_updated_at", () -> commentRepository.findAllByBookId(1L));
+        assertIndexed("idx_comments_book_id_updated_at", () -> commentRepository.findCommentTotalsByBookId(1L));
+        assertIndexed("idx_comments_book_id_updated_at", () -> commentRepository.countByBookId(1L));
+        assertIndexed("idx_books_library_id_updated_at", () -> commentRepository.findChangedSince(1L, now, Limit.of(1000)));
+        assertIndexed("idx_comments_book_id_updated_at", () -> commentRepository.findChangedSince(1L, now, Limit.of(1000)));
+    }
+
+    @Test
+    void libraryListQueriesUseIndexes() throws SQLException {
+        var owner = testData.createUser(UserRole.MEMBER);
+        LibraryFilter noFilter = new LibraryFilter(null, null, null);
+        String cursor = new CreationCursor(Instant.now(), UUID.randomUUID()).encode();
+        Specification<LibraryEntity> after = LibrarySpecifications.after(CreationCursor.decode(cursor));
+
+        assertIndexOrdered("idx_libraries_user_id_created_at", () -> libraryService.getLibrariesByUserId(owner.getPk(), noFilter, null, 50));
+        assertIndexOrdered("idx_libraries_user_id_created_at", () -> libraryService.getLibrariesByUserId(owner.getPk(), noFilter, cursor, 50));
+        assertIndexOrdered("idx_libraries_created_at", () -> libraryRepository.findLibraries(
+                LibrarySpecifications.notOwnedBy(owner.getPk()), 51));
+        assertIndexOrdered("idx_libraries_created_at", () -> libraryRepository.findLibraries(
+                LibrarySpecifications.notOwnedBy(owner.getPk()).and(after), 51));
+        assertIndexOrdered("idx_libraries_privacy_status_created_at", () -> libraryRepository.findLibraries(
+                LibrarySpecifications.notOwnedBy(owner.getPk()).and(LibrarySpecifications.hasPrivacyStatus(LibraryPrivacyStatus.PUBLIC)), 51));
+        assertIndexOrdered("idx_libraries_privacy_status_created_at", () -> libraryRepository.findLibraries(
+                LibrarySpecifications.notOwnedBy(owner.getPk()).and(LibrarySpecifications.hasPrivacyStatus(LibraryPrivacyStatus.PUBLIC)).and(after), 51));
+    }
+
+    private void assertIndexed(String index, Runnable call) throws SQLException {
+        String plans = String.join("\n", plansOf(call));
+        assertThat(plans).as(plans).contains(" " + index + " ");
+        INDEXED_TABLES.forEach(table -> assertThat(plans).as(plans).doesNotContainPattern("Seq Scan on " + table + "\\b"));
+    }
+
+    // Paged queries must read rows in index order so the LIMIT stops the scan early.
+    private void assertIndexOrdered(String index, Runnable call) throws SQLException {
+        assertIndexed(index, call);
+        String plans = String.join("\n", plansOf(call));
+        assertThat(plans).as(plans).doesNotContainPattern("(?m)^\\s*(->\\s+)?(Incremental )?Sort\\b");
+    }
+
+    private List<String> plansOf(Runnable call) throws SQLException {
+        List<String> statements = capture(call);
+        assertThat(statements).isNotEmpty();
+        List<String> plans = new ArrayList<>();
+        for (String statement : statements) {
+            plans.add(explain(statement));
+        }
+        return plans;
+    }
+
+    private List<String> capture(Runnable call) {
+        StatementCounter.start(new MockHttpServletRequest());
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> call.run());
+        } catch (RuntimeException e) {
+            StatementCounter.stop();
+            throw e;
+        }
+        return List.copyOf(StatementCounter.stop().selectStatements());
+    }
+
+    private String explain(String sql) throws SQLException {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder parameterized = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(parameterized, "\\$" + ++index);
+        }
+        matcher.appendTail(parameterized);
+
+        // GENERIC_PLAN leaves $n unbound, which only the simple query protocol passes through untouched.
+        Properties properties = new Properties();
+        properties.setProperty("user", TestDatabase.USER);
+        properties.setProperty("password", TestDatabase.USER);
+        properties.setProperty("preferQueryMode", "simple");
+        try (Connection connection = DriverManager.getConnection(TestDatabase.jdbcUrl(), properties);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + parameterized)) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.myhomelibrary.library_system.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.auth.FirebaseAuth;
+import com.myhomelibrary.library_system.configs.FirebaseProperties;
+import com.myhomelibrary.library_system.services.FirebaseAuthService;
+import com.myhomelibrary.library_system.support.StubHttpServer;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class FirebaseTokenFilterTest {
+    private static final String INVALID_CUSTOM_TOKEN = """
+            {"error":{"message":"INVALID_CUSTOM_TOKEN"}}""";
+
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private StubHttpServer firebase;
+    private FirebaseProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        firebase = StubHttpServer.start(this::handle);
+        properties = new FirebaseProperties();
+        properties.setWebApiKey("test");
+        properties.setIdentityToolkitSignInWithCustomTokenUrl(firebase.url("/signInWithCustomToken"));
+        properties.setRetryInitialBackoff(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        firebase.close();
+    }
+
+    @Test
+    void exhaustedPermitsAnswerTooManyRequestsInsteadOfUnauthorized() throws Exception {
+        properties.setMaxConcurrentRequests(1);
+        properties.setPermitWait(Duration.ofMillis(50));
+        FirebaseTokenFilter filter = filter();
+        CompletableFuture<MockHttpServletResponse> holder = CompletableFuture.supplyAsync(() -> authenticate(filter, "holds-the-permit"));
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse throttled = authenticate(filter, "waits-for-a-permit");
+
+        assertThat(throttled.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        release.countDown();
+        assertThat(holder.join().getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    void firebaseTimingOutAnswersServiceUnavailableInsteadOfUnauthorized() {
+        properties.setLatencyBudget(Duration.ofMillis(200));
+
+        MockHttpServletResponse response = authenticate(filter(), "never-answered");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private FirebaseTokenFilter filter() {
+        FirebaseAuthService firebaseAuthService = new FirebaseAuthService(HttpClient.newHttpClient(), new ObjectMapper(), properties, meterRegistry);
+        return new FirebaseTokenFilter(mock(FirebaseAuth.class), firebaseAuthService, properties,
+                new VerifiedTokenCache(properties, meterRegistry), mock(CustomTokenVerifier.class), meterRegistry);
+    }
+
+    private MockHttpServletResponse authenticate(FirebaseTokenFilter filter, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/library");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ServletException e) {
+            throw new IllegalStateException(e);
+        }
+        assertThat(chain.getRequest()).isNull();
+        return response;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        received.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        StubHttpServer.respond(exchange, 400, INVALID_CUSTOM_TOKEN);
+    }
+}
@@ -0,0 +1,52 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.access.ResourceAccess;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.user.AuthenticatedUser;
+import com.myhomelibrary.library_system.exceptions.ForbiddenException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessControlTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccessControl accessControl = new AccessControl(meterRegistry);
+
+    @BeforeEach
+    void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "uid-1"), null, List.of(new SimpleGrantedAuthority("ROLE_MEMBER"))));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void checksAreTimedOnTheInjectedRegistry() {
+        ResourceAccess privateLibrary = new ResourceAccess(2L, 2L, LibraryPrivacyStatus.PRIVATE);
+        ResourceAccess ownLibrary = new ResourceAccess(1L, 1L, LibraryPrivacyStatus.PRIVATE);
+        long globalMeters = Metrics.globalRegistry.getMeters().size();
+
+        accessControl.requireLibraryAccess(id -> Optional.of(ownLibrary), UUID.randomUUID());
+        assertThatThrownBy(() -> accessControl.requireLibraryAccess(id -> Optional.of(privateLibrary), UUID.randomUUID()))
+                .isInstanceOf(ForbiddenException.class);
+
+        assertThat(meterRegistry.get("access.check").tags("check", "rules", "outcome", "granted").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("access.check").tags("check", "rules", "outcome", "forbidden").timer().count()).isEqualTo(1);
+        assertThat(Metrics.globalRegistry.getMeters()).hasSize((int) globalMeters);
+    }
+}
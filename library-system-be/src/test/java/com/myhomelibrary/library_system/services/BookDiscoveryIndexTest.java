@@ -0,0 +1,288 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.book.BookIndexEntry;
+import com.myhomelibrary.library_system.domains.book.DiscoveredBook;
+import com.myhomelibrary.library_system.domains.enums.ChangeType;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.library.LibraryIndexEntry;
+import com.myhomelibrary.library_system.events.BookChangedEvent;
+import com.myhomelibrary.library_system.events.LibraryChangedEvent;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookDiscoveryIndexTest {
+    private static final long OWNER_PK = 1L;
+    private static final long READER_PK = 2L;
+    private static final long PUBLIC_LIBRARY_PK = 10L;
+    private static final long PRIVATE_LIBRARY_PK = 11L;
+    private static final long READER_LIBRARY_PK = 12L;
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final LibraryRepository libraryRepository = mock(LibraryRepository.class);
+    private final BookDiscoveryIndex index = new BookDiscoveryIndex(bookRepository, libraryRepository);
+    private final List<BookIndexEntry> books = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(libraryRepository.findAllIndexEntries()).thenReturn(List.of(
+                library(PUBLIC_LIBRARY_PK, OWNER_PK, LibraryPrivacyStatus.PUBLIC),
+                library(PRIVATE_LIBRARY_PK, OWNER_PK, LibraryPrivacyStatus.PRIVATE),
+                library(READER_LIBRARY_PK, READER_PK, LibraryPrivacyStatus.PUBLIC)));
+        when(bookRepository.findIndexEntriesAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterPk = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return books.stream().filter(book -> book.pk() > afterPk).limit(limit).toList();
+        });
+    }
+
+    @Test
+    void tokenizeFoldsCaseAndDiacriticsAndSplitsOnPunctuation() {
+        assertThat(BookDiscoveryIndex.tokenize("Les Misérables — Tome 1")).containsExactly("les", "miserables", "tome", "1");
+        assertThat(BookDiscoveryIndex.tokenize("  Ångström's   CAFÉ ")).containsExactly("angstrom", "s", "cafe");
+        assertThat(BookDiscoveryIndex.tokenize("Пётр Первый")).containsExactly("петр", "первыи");
+        assertThat(BookDiscoveryIndex.tokenize("--")).isEmpty();
+        assertThat(BookDiscoveryIndex.tokenize(" ")).isEmpty();
+        assertThat(BookDiscoveryIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void searchIsUnavailableUntilTheFirstRebuild() {
+        assertThatThrownBy(() -> index.search("hobbit", READER_PK, false, 10))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void allTokensMustMatchAndOnlyTheLastIsAPrefix() {
+        book(1, "The Hobbit", "J. R. R. Tolkien", "Fantasy", PUBLIC_LIBRARY_PK);
+        book(2, "The Silmarillion", "J. R. R. Tolkien", "Fantasy", PUBLIC_LIBRARY_PK);
+        book(3, "Hobbies for Beginners", "Anne Author", "Crafts", PUBLIC_LIBRARY_PK);
+        index.rebuild();
+
+        assertThat(titles("tolkien hob")).containsExactly("The Hobbit");
+        assertThat(titles("hob")).containsExactly("Hobbies for Beginners", "The Hobbit");
+        assertThat(titles("hob tolkien")).isEmpty();
+        assertThat(titles("tolk fantasy")).isEmpty();
+        assertThat(titles("TOLKIEN Fantasy")).containsExactly("The Silmarillion", "The Hobbit");
+        assertThat(titles("tolkien crafts")).isEmpty();
+        assertThat(titles("  ")).isEmpty();
+    }
+
+    @Test
+    void prefixesSpanningManyTermsAreMerged() {
+        for (int i = 1; i <= 40; i++) {
+            book(i, "Volume" + i, "Serial Author", "Reference", PUBLIC_LIBRARY_PK);
+        }
+        index.rebuild();
+
+        assertThat(index.search("serial vol", READER_PK, false, 50)).hasSize(40);
+        assertThat(titles("volume1")).containsExactly("Volume1", "Volume19", "Volume18", "Volume17", "Volume16",
+                "Volume15", "Volume14", "Volume13", "Volume12", "Volume11");
+    }
+
+    @Test
+    void resultsAreRankedByFieldAndExactnessBeforeRecency() {
+        book(1, "Tolkien: A Biography", "Humphrey Carpenter", "Biography", PUBLIC_LIBRARY_PK);
+        book(2, "The Hobbit", "J. R. R. Tolkien", "Fantasy", PUBLIC_LIBRARY_PK);
+        book(3, "Middle-earth Atlas", "Karen Fonstad", "Tolkien", PUBLIC_LIBRARY_PK);
+        book(4, "Fan", "Graham Greene", "Novel", PUBLIC_LIBRARY_PK);
+        book(5, "Fantasy Tales", "Various", "Anthology", PUBLIC_LIBRARY_PK);
+        book(6, "Tales of Fantasy", "Various", "Anthology", PUBLIC_LIBRARY_PK);
+        index.rebuild();
+
+        assertThat(titles("tolkien")).containsExactly("Tolkien: A Biography", "The Hobbit", "Middle-earth Atlas");
+        assertThat(titles("fan")).containsExactly("Fan", "Tales of Fantasy", "Fantasy Tales", "The Hobbit");
+    }
+
+    @Test
+    void resultsHideOwnAndPrivateLibrariesUnlessPrivateIsIncluded() {
+        book(1, "Dune", "Frank Herbert", "Science Fiction", PUBLIC_LIBRARY_PK);
+        book(2, "Dune Messiah", "Frank Herbert", "Science Fiction", PRIVATE_LIBRARY_PK);
+        book(3, "Children of Dune", "Frank Herbert", "Science Fiction", READER_LIBRARY_PK);
+        index.rebuild();
+
+        assertThat(index.search("dune", READER_PK, false, 10)).extracting(DiscoveredBook::title)
+                .containsExactly("Dune");
+        assertThat(index.search("dune", READER_PK, true, 10)).extracting(DiscoveredBook::title)
+                .containsExactly("Dune Messiah", "Dune");
+        assertThat(index.search("dune", OWNER_PK, true, 10)).extracting(DiscoveredBook::title)
+                .containsExactly("Children of Dune");
+    }
+
+    @Test
+    void libraryChangesApplyToAlreadyIndexedBooks() {
+        book(1, "Dune", "Frank Herbert", "Science Fiction", PRIVATE_LIBRARY_PK);
+        index.rebuild();
+        assertThat(titles("dune")).isEmpty();
+
+        index.onLibraryChanged(libraryEvent(ChangeType.UPDATED, PRIVATE_LIBRARY_PK, LibraryPrivacyStatus.PUBLIC));
+        assertThat(titles("dune")).containsExactly("Dune");
+
+        index.onLibraryChanged(libraryEvent(ChangeType.DELETED, PRIVATE_LIBRARY_PK, LibraryPrivacyStatus.PUBLIC));
+        assertThat(titles("dune")).isEmpty();
+    }
+
+    @Test
+    void bookChangesReplaceAndRemoveIndexedDocuments() {
+        book(1, "Dune", "Frank Herbert", "Science Fiction", PUBLIC_LIBRARY_PK);
+        index.rebuild();
+
+        index.onBookChanged(bookEvent(ChangeType.CREATED, 2, "Foundation", "Isaac Asimov"));
+        assertThat(titles("foundation")).containsExactly("Foundation");
+
+        index.onBookChanged(bookEvent(ChangeType.UPDATED, 1, "Dune Messiah", "Frank Herbert"));
+        assertThat(titles("messiah")).containsExactly("Dune Messiah");
+        assertThat(titles("dune")).containsExactly("Dune Messiah");
+
+        index.onBookChanged(bookEvent(ChangeType.DELETED, 1, "Dune Messiah", "Frank Herbert"));
+        assertThat(titles("dune")).isEmpty();
+        assertThat(titles("herbert")).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsLiveDocumentsAndDropsBooksOfDeletedLibraries() {
+        for (int i = 1; i <= 2000; i++) {
+            book(i, "Bulk " + i, "Prolific Writer", "Filler", i <= 10 ? PRIVATE_LIBRARY_PK : PUBLIC_LIBRARY_PK);
+        }
+        index.rebuild();
+        index.onLibraryChanged(libraryEvent(ChangeType.DELETED, PRIVATE_LIBRARY_PK, LibraryPrivacyStatus.PRIVATE));
+
+        for (int i = 11; i <= 1990; i++) {
+            index.onBookChanged(bookEvent(ChangeType.DELETED, i, "Bulk " + i, "Prolific Writer"));
+        }
+        index.onLibraryChanged(libraryEvent(ChangeType.CREATED, PRIVATE_LIBRARY_PK, LibraryPrivacyStatus.PUBLIC));
+        index.onBookChanged(bookEvent(ChangeType.UPDATED, 1995, "Bulk 1995 Revised", "Prolific Writer"));
+
+        assertThat(index.search("prolific", READER_PK, true, 50)).extracting(DiscoveredBook::title)
+                .containsExactly("Bulk 1995 Revised", "Bulk 2000", "Bulk 1999", "Bulk 1998", "Bulk 1997", "Bulk 1996",
+                        "Bulk 1994", "Bulk 1993", "Bulk 1992", "Bulk 1991");
+        assertThat(titles("bulk 1995")).containsExactly("Bulk 1995 Revised");
+    }
+
+    @Test
+    void limitIsClampedToTheSupportedRange() {
+        for (int i = 1; i <= 60; i++) {
+            book(i, "Series " + i, "Same Author", "Saga", PUBLIC_LIBRARY_PK);
+        }
+        index.rebuild();
+
+        assertThat(index.search("series", READER_PK, false, 0)).extracting(DiscoveredBook::title).containsExactly("Series 60");
+        assertThat(index.search("series", READER_PK, false, 500)).hasSize(BookDiscoveryIndex.MAX_LIMIT);
+    }
+
+    @Test
+    void rebuildLoadsBooksInChunks() {
+        for (int i = 1; i <= 12_000; i++) {
+            book(i, "Catalogue " + i, "Archivist", "Records", PUBLIC_LIBRARY_PK);
+        }
+        index.rebuild();
+
+        assertThat(titles("catalogue 5000")).containsExactly("Catalogue 5000");
+        assertThat(titles("catalogue 5001")).containsExactly("Catalogue 5001");
+        assertThat(titles("catalogue 12000")).containsExactly("Catalogue 12000");
+    }
+
+    @Test
+    void changesDuringRebuildDoNotWaitForItAndSurviveTheSwap() throws Exception {
+        book(1, "Dune", "Frank Herbert", "Science Fiction", PUBLIC_LIBRARY_PK);
+        book(2, "Emma", "Jane Austen", "Classic", PUBLIC_LIBRARY_PK);
+        index.rebuild();
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.findIndexEntriesAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.copyOf(books);
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The load is still blocked, yet writes complete and searches see them on the current index.
+        index.onBookChanged(bookEvent(ChangeType.CREATED, 3, "Foundation", "Isaac Asimov"));
+        index.onBookChanged(bookEvent(ChangeType.DELETED, 2, "Emma", "Jane Austen"));
+        assertThat(rebuild).isNotDone();
+        assertThat(titles("dune")).containsExactly("Dune");
+        assertThat(titles("foundation")).containsExactly("Foundation");
+        assertThat(titles("emma")).isEmpty();
+
+        // The load returns the snapshot taken before those writes; replaying them keeps the new index current.
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(titles("dune")).containsExactly("Dune");
+        assertThat(titles("foundation")).containsExactly("Foundation");
+        assertThat(titles("emma")).isEmpty();
+    }
+
+    @Test
+    void concurrentSearchesSeeEitherTheOldOrTheRebuiltIndex() throws Exception {
+        for (int i = 1; i <= 500; i++) {
+            book(i, "Atlas " + i, "Cartographer", "Maps", PUBLIC_LIBRARY_PK);
+        }
+        index.rebuild();
+
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 50; i++) {
+                index.rebuild();
+            }
+        });
+        do {
+            assertThat(index.search("atlas", READER_PK, false, 50)).hasSize(50)
+                    .extracting(DiscoveredBook::title).startsWith("Atlas 500");
+        } while (!rebuilds.isDone());
+        rebuilds.get(5, TimeUnit.SECONDS);
+
+        assertThat(index.search("atlas", READER_PK, false, 50)).hasSize(50);
+    }
+
+    private List<String> titles(String query) {
+        return index.search(query, READER_PK, false, BookDiscoveryIndex.DEFAULT_LIMIT).stream()
+                .map(DiscoveredBook::title)
+                .toList();
+    }
+
+    private void book(long pk, String title, String author, String genre, long libraryPk) {
+        books.add(new BookIndexEntry(pk, bookId(pk), title, author, genre, libraryPk));
+    }
+
+    private static BookChangedEvent bookEvent(ChangeType changeType, long pk, String title, String author) {
+        return new BookChangedEvent(changeType, libraryId(PUBLIC_LIBRARY_PK), PUBLIC_LIBRARY_PK, bookId(pk), pk,
+                title, author, null);
+    }
+
+    private static LibraryIndexEntry library(long pk, long ownerPk, LibraryPrivacyStatus privacyStatus) {
+        return new LibraryIndexEntry(pk, libraryId(pk), ownerPk, privacyStatus);
+    }
+
+    private static LibraryChangedEvent libraryEvent(ChangeType changeType, long pk, LibraryPrivacyStatus privacyStatus) {
+        return new LibraryChangedEvent(changeType, libraryId(pk), pk, OWNER_PK, privacyStatus);
+    }
+
+    private static UUID bookId(long pk) {
+        return new UUID(1, pk);
+    }
+
+    private static UUID libraryId(long pk) {
+        return new UUID(2, pk);
+    }
+}
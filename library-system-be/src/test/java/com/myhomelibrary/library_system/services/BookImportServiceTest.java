@@ -0,0 +1,50 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.domains.book.BookImportError;
+import com.myhomelibrary.library_system.domains.book.BookImportResult;
+import com.myhomelibrary.library_system.domains.enums.BookImportFormat;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookImportServiceTest extends IntegrationTest {
+    @Autowired
+    private BookImportService bookImportService;
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void databaseRejectionsOnlyFailTheOffendingRows() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PUBLIC);
+        Set<Integer> rejectedRows = Set.of(7, 250, 251, 600);
+        String body = IntStream.rangeClosed(1, 700)
+                .mapToObj(row -> rejectedRows.contains(row)
+                        // genre has no request-side length check, so only the column limit rejects it
+                        ? "{\"title\":\"Book " + row + "\",\"genre\":\"" + "x".repeat(300) + "\"}"
+                        : "{\"title\":\"Book " + row + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        BookImportResult result = bookImportService.importBooks(library.id(), BookImportFormat.NDJSON,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), owner.getPk());
+
+        assertThat(result.imported()).isEqualTo(696);
+        assertThat(result.failed()).isEqualTo(4);
+        assertThat(result.errors()).extracting(BookImportError::row).containsExactly(7L, 250L, 251L, 600L);
+        assertThat(bookRepository.findBooksPageByLibrary_Id(library.id(), Limit.of(1000))).hasSize(696);
+    }
+}
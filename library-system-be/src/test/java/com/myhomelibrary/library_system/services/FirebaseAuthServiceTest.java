@@ -0,0 +1,174 @@
+package com.myhomelibrary.library_system.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myhomelibrary.library_system.configs.FirebaseProperties;
+import com.myhomelibrary.library_system.domains.firebase.FirebaseSignInResponse;
+import com.myhomelibrary.library_system.exceptions.InvalidCredentialsException;
+import com.myhomelibrary.library_system.exceptions.ServiceUnavailableException;
+import com.myhomelibrary.library_system.support.StubHttpServer;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FirebaseAuthServiceTest {
+    private static final String SIGN_IN_RESPONSE = """
+            {"idToken":"id-token","email":"reader@example.com","refreshToken":"refresh-token","expiresIn":"3600","localId":"uid-1","registered":true}""";
+    private static final String INVALID_CREDENTIALS = """
+            {"error":{"message":"INVALID_LOGIN_CREDENTIALS"}}""";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+    private volatile Duration delay = Duration.ZERO;
+    private StubHttpServer firebase;
+    private FirebaseProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        firebase = StubHttpServer.start(this::handle);
+        properties = new FirebaseProperties();
+        properties.setWebApiKey("test");
+        properties.setIdentityToolkitSignInWithPasswordUrl(firebase.url("/signInWithPassword"));
+        properties.setRetryInitialBackoff(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        firebase.close();
+    }
+
+    @Test
+    void retriesTooManyRequestsAndServerErrorsUntilSuccess() {
+        respondWith(503, 429, 200);
+
+        FirebaseSignInResponse response = service().signInWithEmailAndPassword("reader@example.com", "secret");
+
+        assertThat(response.localId()).isEqualTo("uid-1");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("firebase.auth.retries").count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        respondWith(400, 200);
+
+        assertThatThrownBy(() -> service().signInWithEmailAndPassword("reader@example.com", "wrong"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        properties.setRetryMaxAttempts(3);
+        respondWith(500, 500, 500, 200);
+
+        assertThatThrownBy(() -> service().signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void stopsRetryingOnceTheLatencyBudgetIsSpent() {
+        properties.setLatencyBudget(Duration.ofMillis(300));
+        properties.setRetryMaxAttempts(5);
+        delay = Duration.ofSeconds(2);
+        respondWith(200);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> service().signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndClosesAfterASuccessfulProbe() throws Exception {
+        properties.setRetryMaxAttempts(1);
+        properties.setCircuitBreakerFailureThreshold(2);
+        properties.setCircuitBreakerOpenDuration(Duration.ofMillis(300));
+        FirebaseAuthService service = service();
+        respondWith(500, 500, 200);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                    .isInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls).hasValue(2);
+
+        Thread.sleep(350);
+        delay = Duration.ofMillis(200);
+        CompletableFuture<FirebaseSignInResponse> probe = service.signInWithEmailAndPasswordAsync("reader@example.com", "secret");
+        assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        assertThat(probe.join().localId()).isEqualTo("uid-1");
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws Exception {
+        properties.setRetryMaxAttempts(1);
+        properties.setCircuitBreakerFailureThreshold(1);
+        properties.setCircuitBreakerOpenDuration(Duration.ofMillis(200));
+        FirebaseAuthService service = service();
+        respondWith(500, 503, 200);
+
+        assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        Thread.sleep(250);
+        assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> service.signInWithEmailAndPassword("reader@example.com", "secret"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    private FirebaseAuthService service() {
+        return new FirebaseAuthService(HttpClient.newHttpClient(), new ObjectMapper(), properties, meterRegistry);
+    }
+
+    private CircuitBreaker.State circuitState() {
+        return CircuitBreaker.State.values()[(int) meterRegistry.get("firebase.auth.circuit.state").gauge().value()];
+    }
+
+    private void respondWith(Integer... statuses) {
+        this.statuses.addAll(List.of(statuses));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int call = calls.getAndIncrement();
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int status = statuses.get(Math.min(call, statuses.size() - 1));
+        StubHttpServer.respond(exchange, status, switch (status) {
+            case 200 -> SIGN_IN_RESPONSE;
+            case 400 -> INVALID_CREDENTIALS;
+            default -> "{}";
+        });
+    }
+}
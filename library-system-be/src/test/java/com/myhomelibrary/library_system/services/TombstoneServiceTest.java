@@ -0,0 +1,50 @@
+package com.myhomelibrary.library_system.services;
+
+import com.myhomelibrary.library_system.configs.TombstoneProperties;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TombstoneServiceTest extends IntegrationTest {
+    @Autowired
+    private TombstoneService tombstoneService;
+    @Autowired
+    private TombstoneProperties tombstoneProperties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pruneDropsOnlyTombstonesOlderThanTheRetention() {
+        UserEntity owner = testData.createUser(UserRole.MEMBER);
+        Library library = testData.createLibrary(owner, LibraryPrivacyStatus.PRIVATE);
+        Long libraryPk = jdbcTemplate.queryForObject("SELECT pk FROM libraries WHERE id = ?", Long.class, library.id());
+        Instant cutoff = Instant.now().minus(tombstoneProperties.getRetention());
+        UUID expired = tombstone(libraryPk, cutoff.minus(Duration.ofDays(1)));
+        UUID kept = tombstone(libraryPk, cutoff.plus(Duration.ofDays(1)));
+
+        tombstoneService.pruneExpired();
+
+        assertThat(jdbcTemplate.queryForList("SELECT resource_id FROM tombstones WHERE library_id = ?", UUID.class, libraryPk))
+                .containsExactly(kept)
+                .doesNotContain(expired);
+    }
+
+    private UUID tombstone(Long libraryPk, Instant deletedAt) {
+        UUID resourceId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tombstones (library_id, resource_type, resource_id, deleted_at) VALUES (?, 'BOOK', ?, ?)",
+                libraryPk, resourceId, Timestamp.from(deletedAt));
+        return resourceId;
+    }
+}
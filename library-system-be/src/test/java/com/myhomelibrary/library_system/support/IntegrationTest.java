@@ -0,0 +1,62 @@
+package com.myhomelibrary.library_system.support;
+
+import com.myhomelibrary.library_system.entities.UserEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "firebase.auth-mode=LOCAL",
+        "statement-budget.mode=FAIL",
+})
+@Import(TestData.class)
+public abstract class IntegrationTest {
+    @Autowired
+    protected TestRestTemplate restTemplate;
+    @Autowired
+    protected TestData testData;
+
+    @DynamicPropertySource
+    static void integrationProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::jdbcUrl);
+        registry.add("spring.datasource.username", () -> TestDatabase.USER);
+        registry.add("spring.datasource.password", () -> TestDatabase.USER);
+        registry.add("spring.datasource.hikari.schema", () -> TestDatabase.SCHEMA);
+        registry.add("spring.flyway.user", () -> TestDatabase.USER);
+        registry.add("spring.flyway.password", () -> TestDatabase.USER);
+        registry.add("spring.flyway.schemas", () -> TestDatabase.SCHEMA);
+        registry.add("firebase.service-account-key-path", TestServiceAccount::keyPath);
+    }
+
+    // TestRestTemplate buffers the whole body, so event streams are read line by line through the JDK client instead.
+    protected Stream<String> openEventStream(UserEntity user, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(restTemplate.getRootUri() + url))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + testData.token(user))
+                .build();
+        try {
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.statusCode()).as(url).isEqualTo(HttpStatus.OK.value());
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
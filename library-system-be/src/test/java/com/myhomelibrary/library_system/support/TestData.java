@@ -0,0 +1,93 @@
+package com.myhomelibrary.library_system.support;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.myhomelibrary.library_system.domains.enums.LibraryPrivacyStatus;
+import com.myhomelibrary.library_system.domains.enums.UserRole;
+import com.myhomelibrary.library_system.domains.firebase.UserCustomClaims;
+import com.myhomelibrary.library_system.domains.library.Library;
+import com.myhomelibrary.library_system.domains.library.LibraryRequest;
+import com.myhomelibrary.library_system.entities.BookEntity;
+import com.myhomelibrary.library_system.entities.LibraryEntity;
+import com.myhomelibrary.library_system.entities.UserEntity;
+import com.myhomelibrary.library_system.repositories.BookRepository;
+import com.myhomelibrary.library_system.repositories.LibraryRepository;
+import com.myhomelibrary.library_system.repositories.UserRepository;
+import com.myhomelibrary.library_system.services.LibraryService;
+import com.myhomelibrary.library_system.services.LibraryStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+    private final UserRepository userRepository;
+    private final LibraryService libraryService;
+    private final FirebaseAuth firebaseAuth;
+    private final LibraryRepository libraryRepository;
+    private final BookRepository bookRepository;
+    private final LibraryStatsService libraryStatsService;
+
+    public UserEntity createUser(UserRole role) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(UserEntity.builder()
+                .id("uid-" + UUID.randomUUID())
+                .name("Test")
+                .surname("User")
+                .username("user-" + suffix)
+                .email("user-" + suffix + "@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .role(role)
+                .build());
+    }
+
+    public String token(UserEntity user) {
+        UserCustomClaims claims = new UserCustomClaims(user.getPk(), user.getId(), user.getUsername(), user.getName(),
+                user.getSurname(), user.getRole().name(), user.getDateOfBirth().toString());
+        try {
+            return firebaseAuth.createCustomToken(user.getId(), claims.toMap());
+        } catch (FirebaseAuthException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public HttpEntity<Void> authorized(UserEntity user) {
+        return authorized(user, null);
+    }
+
+    public <T> HttpEntity<T> authorized(UserEntity user, T body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token(user));
+        return new HttpEntity<>(body, headers);
+    }
+
+    public Library createLibrary(UserEntity owner, LibraryPrivacyStatus privacyStatus) {
+        LibraryRequest request = new LibraryRequest();
+        request.setTitle("Library " + UUID.randomUUID());
+        request.setPrivacyStatus(privacyStatus);
+        return libraryService.createLibrary(request, owner.getPk());
+    }
+
+    // Saved straight through the repository, owned by the library's owner; only the stats row is kept in step.
+    public List<BookEntity> createBooks(Library library, int count) {
+        LibraryEntity libraryEntity = libraryRepository.findCachedLibraryById(library.id()).orElseThrow();
+        List<BookEntity> books = bookRepository.saveAll(IntStream.rangeClosed(1, count)
+                .mapToObj(n -> BookEntity.builder()
+                        .id(UUID.randomUUID())
+                        .title("Book " + n)
+                        .author("Author " + n)
+                        .libraryId(libraryEntity.getPk())
+                        .userId(libraryEntity.getUserId())
+                        .build())
+                .toList());
+        libraryStatsService.booksAdded(libraryEntity.getPk(), count);
+        return books;
+    }
+}
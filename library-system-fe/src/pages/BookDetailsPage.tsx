@@ -20,6 +20,7 @@ export default function BookDetailsPage() {
   const [error, setError] = useState<string | null>(null);
   const [isNotFound, setIsNotFound] = useState(false);
   const [isForbidden, setIsForbidden] = useState(false);
+  const [loadingMoreComments, setLoadingMoreComments] = useState(false);
 
   useEffect(() => {
     if (book) {
@@ -80,6 +81,25 @@ export default function BookDetailsPage() {
     }
   };
 
+  const handleLoadMoreComments = async () => {
+    if (!libraryId || !bookId || !book?.nextCommentsCursor) return;
+
+    try {
+      setLoadingMoreComments(true);
+      const page = await commentService.getCommentsPage(libraryId, bookId, book.nextCommentsCursor);
+      setBook((current) => current && {
+        ...current,
+        comments: [...current.comments, ...page.items],
+        nextCommentsCursor: page.nextCursor,
+      });
+    } catch (err) {
+      const apiError = err as { message?: string };
+      toast.error(apiError?.message || 'Failed to load more comments');
+    } finally {
+      setLoadingMoreComments(false);
+    }
+  };
+
   const handleDeleteComment = async (commentId: string) => {
     if (!libraryId || !bookId) return;
     
@@ -176,7 +196,7 @@ export default function BookDetailsPage() {
         <div className="flex items-center gap-2 mb-6">
           <MessageCircle className="w-6 h-6 text-gray-900" />
           <h2 className="text-2xl font-semibold text-gray-900">
-            Comments ({book.comments.length})
+            Comments ({book.commentCount ?? book.comments.length})
           </h2>
         </div>
 
@@ -209,6 +229,19 @@ export default function BookDetailsPage() {
             }}
           />
         )}
+
+        {library && book.nextCommentsCursor && (
+          <div className="mt-6 flex justify-center">
+            <Button
+              onClick={handleLoadMoreComments}
+              variant="outline"
+              disabled={loadingMoreComments}
+              className="active:scale-95 transition-transform"
+            >
+              {loadingMoreComments ? 'Loading...' : 'Load more comments'}
+            </Button>
+          </div>
+        )}
       </div>
     </div>
   );
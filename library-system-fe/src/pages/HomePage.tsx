@@ -27,9 +27,10 @@ export default function HomePage() {
   const [filter, setFilter] = useState<FilterType>('MY');
   const [privacyFilter, setPrivacyFilter] = useState<PrivacyFilterType>('ALL');
   const [showAddLibraryModal, setShowAddLibraryModal] = useState(false);
-  const [myLibraries, setMyLibraries] = useState<Library[]>([]);
-  const [allLibraries, setAllLibraries] = useState<Library[]>([]);
+  const [libraries, setLibraries] = useState<Library[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [refreshTrigger, setRefreshTrigger] = useState(0);
 
@@ -37,6 +38,16 @@ export default function HomePage() {
     document.title = 'My Libraries - Home Library System';
   }, []);
 
+  const fetchPage = (cursor?: string | null) => {
+    const params = {
+      privacyStatus: privacyFilter === 'ALL' ? undefined : privacyFilter,
+      cursor,
+    };
+    return filter === 'MY'
+      ? libraryService.getUserLibraries(params)
+      : libraryService.getAllLibraries(params);
+  };
+
   useEffect(() => {
     const fetchLibraries = async () => {
       if (!user) {
@@ -47,12 +58,9 @@ export default function HomePage() {
       try {
         setLoading(true);
         setError(null);
-        const [myLibs, allLibs] = await Promise.all([
-          libraryService.getUserLibraries(),
-          libraryService.getAllLibraries()
-        ]);
-        setMyLibraries(myLibs);
-        setAllLibraries(allLibs);
+        const page = await fetchPage();
+        setLibraries(page.items);
+        setNextCursor(page.nextCursor);
       } catch (err) {
         const apiError = err as { status?: number; message?: string };
         setError(apiError?.status === 401 ? 'Authentication failed. Please log in again.' : apiError?.message || 'Failed to load libraries');
@@ -62,19 +70,26 @@ export default function HomePage() {
     };
 
     fetchLibraries();
-  }, [user, refreshTrigger]);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [user, filter, privacyFilter, refreshTrigger]);
 
-  const getFilteredLibraries = () => {
-    const baseLibraries = filter === 'MY' ? myLibraries : allLibraries;
-    
-    if (privacyFilter === 'ALL') {
-      return baseLibraries;
+  const handleLoadMore = async () => {
+    if (!nextCursor) {
+      return;
     }
-    
-    return baseLibraries.filter(lib => lib.privacyStatus === privacyFilter);
-  };
 
-  const filteredLibraries = getFilteredLibraries();
+    try {
+      setLoadingMore(true);
+      const page = await fetchPage(nextCursor);
+      setLibraries(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      const apiError = err as { message?: string };
+      setError(apiError?.message || 'Failed to load libraries');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const handleCloseModal = () => {
     setShowAddLibraryModal(false);
@@ -168,9 +183,9 @@ export default function HomePage() {
         </div>
       )}
 
-      {!loading && !error && filteredLibraries.length > 0 && (
+      {!loading && !error && libraries.length > 0 && (
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-          {filteredLibraries.map((library, index) => (
+          {libraries.map((library, index) => (
             <div 
               key={library.id}
               className="animate-fade-in"
@@ -186,7 +201,21 @@ export default function HomePage() {
         </div>
       )}
 
-      {!loading && !error && filteredLibraries.length === 0 && (
+      {!loading && !error && nextCursor && (
+        <div className="flex justify-center">
+          <Button
+            onClick={handleLoadMore}
+            variant="outline"
+            disabled={loadingMore}
+            className="active:scale-95 transition-transform"
+          >
+            {loadingMore && <Loader2 className="w-4 h-4 mr-2 animate-spin" />}
+            Load more libraries
+          </Button>
+        </div>
+      )}
+
+      {!loading && !error && libraries.length === 0 && (
         <div className="text-center py-20 bg-gray-50 rounded-lg border-2 border-dashed border-gray-300">
           <p className="text-gray-600 text-lg">
             {filter === 'MY' 
@@ -2,7 +2,9 @@ import { apiClient } from './api-client';
 import type {
   Response,
   Comment,
+  CommentWithUser,
   CommentRequest,
+  CursorPage,
   CommentUpdateRequest,
 } from '../types/api';
 
@@ -14,6 +16,18 @@ export const commentService = {
     return response.data;
   },
 
+  getCommentsPage: async (
+    libraryId: string,
+    bookId: string,
+    cursor?: string | null
+  ): Promise<CursorPage<CommentWithUser>> => {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await apiClient.get<Response<CursorPage<CommentWithUser>>>(
+      `/v1/library/${libraryId}/books/${bookId}/comments/page${query}`
+    );
+    return response.data;
+  },
+
   getCommentById: async (
     libraryId: string,
     bookId: string,
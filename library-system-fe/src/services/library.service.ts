@@ -1,18 +1,30 @@
 import { apiClient } from './api-client';
 import type {
   Response,
+  CursorPage,
   Library,
   LibraryRequest,
 } from '../types/api';
 
+export interface LibraryPageParams {
+  privacyStatus?: 'PUBLIC' | 'PRIVATE';
+  cursor?: string | null;
+}
+
 export const libraryService = {
-  getUserLibraries: async (): Promise<Library[]> => {
-    const response = await apiClient.get<Response<Library[]>>('/v1/library');
+  getUserLibraries: async ({ privacyStatus, cursor }: LibraryPageParams = {}): Promise<CursorPage<Library>> => {
+    const response = await apiClient.get<Response<CursorPage<Library>>>('/v1/library', {
+      privacyStatus,
+      cursor: cursor ?? undefined,
+    });
     return response.data;
   },
 
-  getAllLibraries: async (): Promise<Library[]> => {
-    const response = await apiClient.get<Response<Library[]>>('/v1/library/all');
+  getAllLibraries: async ({ privacyStatus, cursor }: LibraryPageParams = {}): Promise<CursorPage<Library>> => {
+    const response = await apiClient.get<Response<CursorPage<Library>>>('/v1/library/all', {
+      privacyStatus,
+      cursor: cursor ?? undefined,
+    });
     return response.data;
   },
 
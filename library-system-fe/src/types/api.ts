@@ -7,6 +7,12 @@ export interface Response<T> {
   };
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
 export interface UserShort {
   id: string;
   username: string;
@@ -62,6 +68,14 @@ export interface Library {
   creator: UserShort;
   createdAt: string;
   updatedAt: string;
+  stats?: LibraryStats;
+}
+
+export interface LibraryStats {
+  bookCount: number;
+  commentCount: number;
+  averageRating: number | null;
+  lastActivityAt: string | null;
 }
 
 export interface LibraryRequest {
@@ -99,6 +113,8 @@ export interface Book {
   createdAt: string;
   updatedAt: string;
   comments: CommentWithUser[];
+  commentCount: number;
+  nextCommentsCursor: string | null;
 }
 
 export interface CommentWithUser {